@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoAssociationResolver;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.WorkingContext;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ *  Test case for the batched resolution of the associations of several nodes.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class BatchResolveTest {
+
+    private static final String NS = "http://test.lf.de/batch#";
+
+    private static final int NUM_NODES = 50;
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore());
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        for (int i = 0; i < NUM_NODES; i++) {
+            final SNResource node = new SNResource(node(i));
+            conversation.addStatement(new DetachedStatement(node, Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+            if (i > 0) {
+                conversation.addStatement(new DetachedStatement(node, Aras.HAS_SERIAL_NUMBER, new SNScalar(-i)));
+            }
+        }
+        tx.commit();
+        conversation.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldResolveSeveralKeepersInOnePass() {
+        final Conversation conversation = gate.startConversation();
+        final NeoAssociationResolver resolver =
+                store.createAssociationResolver((WorkingContext) conversation.getConversationContext());
+
+        final List<RecordingKeeper> keepers = new ArrayList<RecordingKeeper>();
+        for (int i = 0; i < NUM_NODES; i++) {
+            final AttachedAssociationKeeper found = store.find(node(i));
+            Assert.assertNotNull(found);
+            // Every second keeper without physical ID, to be looked up in the key table.
+            final NumericPhysicalNodeID id = i % 2 == 0 ? (NumericPhysicalNodeID) found.getPhysicalID() : null;
+            keepers.add(new RecordingKeeper(node(i), id));
+        }
+        keepers.add(new RecordingKeeper(new QualifiedName(NS, "Unknown"), null));
+
+        resolver.resolveAssociations(new ArrayList<AttachedAssociationKeeper>(keepers));
+
+        for (int i = 0; i < NUM_NODES; i++) {
+            final RecordingKeeper keeper = keepers.get(i);
+            Assert.assertEquals("Associations of " + keeper.getQualifiedName(), i > 0 ? 2 : 1, keeper.resolved.size());
+            for (Statement stmt : keeper.resolved) {
+                Assert.assertEquals(keeper.getQualifiedName(), stmt.getSubject().getQualifiedName());
+            }
+        }
+        Assert.assertTrue(keepers.get(NUM_NODES).resolved.isEmpty());
+        conversation.close();
+    }
+
+    // ----------------------------------------------------
+
+    private static QualifiedName node(int i) {
+        return new QualifiedName(NS, "Node" + i);
+    }
+
+    /**
+     * Keeper recording the associations added by the resolver.
+     */
+    private static class RecordingKeeper extends AttachedAssociationKeeper {
+
+        private final List<Statement> resolved = new ArrayList<Statement>();
+
+        private RecordingKeeper(QualifiedName qn, NumericPhysicalNodeID id) {
+            super(qn, id);
+        }
+
+        @Override
+        public void addAssociationDirectly(Statement assoc) {
+            resolved.add(assoc);
+        }
+    }
+
+}
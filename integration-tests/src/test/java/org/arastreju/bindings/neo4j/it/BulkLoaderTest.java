@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoBulkLoader;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.SemanticNode;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ *  Test cases for the {@link NeoBulkLoader}: statements are loaded into an existing store and read
+ *  back through a conversation.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class BulkLoaderTest {
+
+    private static final String NS = "http://test.lf.de/bulk#";
+
+    private static final QualifiedName EXISTING = new QualifiedName(NS, "Existing");
+
+    private static final QualifiedName NEW = new QualifiedName(NS, "New");
+
+    private static final QualifiedName ROLLED_BACK = new QualifiedName(NS, "RolledBack");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    private String dir;
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldReadBulkLoadedStatements() throws Exception {
+        open();
+        final Conversation setup = gate.startConversation();
+        final TransactionControl committed = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(EXISTING), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        committed.commit();
+        // The key table entry of a rolled back create remains.
+        final TransactionControl rolledBack = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(ROLLED_BACK), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        rolledBack.rollback();
+        setup.close();
+        close();
+
+        final List<Statement> statements = Arrays.<Statement>asList(
+                new DetachedStatement(new SNResource(EXISTING), LINKS, new SNResource(NEW)),
+                new DetachedStatement(new SNResource(NEW), Aras.HAS_SERIAL_NUMBER, new SNScalar(2)),
+                new DetachedStatement(new SNResource(ROLLED_BACK), Aras.HAS_SERIAL_NUMBER, new SNScalar(3)));
+        final NeoBulkLoader loader = new NeoBulkLoader(dir);
+        try {
+            Assert.assertEquals(3, loader.load(statements));
+        } finally {
+            loader.finish();
+        }
+        Assert.assertTrue(new File(dir, NeoBulkLoader.REINDEX_FILE).exists());
+
+        open();
+        try {
+            final Conversation conversation = gate.startConversation();
+            final ResourceNode existing = conversation.findResource(EXISTING);
+            Assert.assertEquals(2, existing.getAssociations().size());
+            Assert.assertEquals(NEW, objectOf(existing, LINKS).asResource().getQualifiedName());
+
+            final ResourceNode created = conversation.findResource(NEW);
+            Assert.assertNotNull(created);
+            Assert.assertEquals(1, created.getAssociations().size());
+
+            final ResourceNode recreated = conversation.findResource(ROLLED_BACK);
+            Assert.assertNotNull(recreated);
+            Assert.assertEquals(1, recreated.getAssociations().size());
+            Assert.assertEquals("3", objectOf(recreated, Aras.HAS_SERIAL_NUMBER).asValue().getStringValue());
+
+            Assert.assertEquals(3, NeoBulkLoader.reindex(store, conversation));
+            Assert.assertFalse(new File(dir, NeoBulkLoader.REINDEX_FILE).exists());
+            Assert.assertEquals(0, NeoBulkLoader.reindex(store, conversation));
+            conversation.close();
+        } finally {
+            close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private SemanticNode objectOf(ResourceNode subject, ResourceID predicate) {
+        for (Statement stmt : subject.getAssociations()) {
+            if (predicate.getQualifiedName().equals(stmt.getPredicate().getQualifiedName())) {
+                return stmt.getObject();
+            }
+        }
+        Assert.fail("No statement with predicate " + predicate + " on " + subject);
+        return null;
+    }
+
+    private void open() {
+        store = new NeoGraphDataStore(dir);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    private void close() {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.CachingNodeKeyTable;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ *  Test cases for the {@link CachingNodeKeyTable}.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class CachingNodeKeyTableTest {
+
+    private static final String NS = "http://test.lf.de/key-cache#";
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldCountHitsAndMisses() throws Exception {
+        final CountingKeyTable delegate = new CountingKeyTable();
+        delegate.put(name(1), new NumericPhysicalNodeID(1));
+        final CachingNodeKeyTable cache = new CachingNodeKeyTable(delegate, 100);
+
+        Assert.assertEquals(1, cache.lookup(name(1)).asLong());
+        Assert.assertEquals(1, cache.lookup(name(1)).asLong());
+        Assert.assertEquals(1, delegate.lookups.get());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+
+        // Negative lookups are not cached.
+        Assert.assertNull(cache.lookup(name(2)));
+        Assert.assertNull(cache.lookup(name(2)));
+        Assert.assertEquals(3, delegate.lookups.get());
+        Assert.assertEquals(3, cache.getMisses());
+
+        final Map<QualifiedName, NumericPhysicalNodeID> all = cache.lookupAll(Arrays.asList(name(1), name(2)));
+        Assert.assertEquals(1, all.size());
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void shouldInvalidateOnPutAndRemove() throws Exception {
+        final CachingNodeKeyTable cache = new CachingNodeKeyTable(new CountingKeyTable(), 100);
+        cache.put(name(1), new NumericPhysicalNodeID(1));
+        Assert.assertEquals(1, cache.lookup(name(1)).asLong());
+
+        cache.put(name(1), new NumericPhysicalNodeID(2));
+        Assert.assertEquals(2, cache.lookup(name(1)).asLong());
+
+        cache.remove(name(1));
+        Assert.assertNull(cache.lookup(name(1)));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void shouldNotCacheValueReadBeforeModification() throws Exception {
+        final CountingKeyTable delegate = new CountingKeyTable();
+        delegate.put(name(1), new NumericPhysicalNodeID(1));
+        final CachingNodeKeyTable cache = new CachingNodeKeyTable(delegate, 100);
+        // The entry is replaced while the old value is being read from the delegate.
+        delegate.onLookup = new Runnable() {
+            @Override
+            public void run() {
+                delegate.onLookup = null;
+                cache.put(name(1), new NumericPhysicalNodeID(2));
+            }
+        };
+        Assert.assertEquals(1, cache.lookup(name(1)).asLong());
+        Assert.assertEquals(2, cache.lookup(name(1)).asLong());
+    }
+
+    @Test
+    public void shouldBeBoundedInSize() throws Exception {
+        final CountingKeyTable delegate = new CountingKeyTable();
+        final CachingNodeKeyTable cache = new CachingNodeKeyTable(delegate, 100);
+        for (int i = 0; i < 1000; i++) {
+            delegate.put(name(i), new NumericPhysicalNodeID(i));
+            cache.lookup(name(i));
+        }
+        Assert.assertTrue(cache.getSize() <= 100);
+        Assert.assertTrue(cache.getSize() > 0);
+        Assert.assertEquals(100, cache.getMaxSize());
+        cache.clear();
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    // ----------------------------------------------------
+
+    private static QualifiedName name(int i) {
+        return new QualifiedName(NS, "Node" + i);
+    }
+
+    /**
+     * Key table in memory, counting its lookups.
+     */
+    private static class CountingKeyTable implements NodeKeyTable<NumericPhysicalNodeID> {
+
+        private final ConcurrentMap<QualifiedName, NumericPhysicalNodeID> entries =
+                new ConcurrentHashMap<QualifiedName, NumericPhysicalNodeID>();
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private volatile Runnable onLookup;
+
+        @Override
+        public NumericPhysicalNodeID lookup(QualifiedName qn) {
+            lookups.incrementAndGet();
+            final NumericPhysicalNodeID id = entries.get(qn);
+            final Runnable callback = onLookup;
+            if (callback != null) {
+                callback.run();
+            }
+            return id;
+        }
+
+        @Override
+        public void put(QualifiedName qn, NumericPhysicalNodeID id) {
+            entries.put(qn, id);
+        }
+
+        @Override
+        public void remove(QualifiedName qn) {
+            entries.remove(qn);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+
+}
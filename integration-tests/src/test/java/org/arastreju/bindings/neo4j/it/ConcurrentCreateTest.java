@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoConstants;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+import org.neo4j.tooling.GlobalGraphOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Stress test for concurrent conversations attaching the same resources, and for concurrent transactions
+ *  creating different ones.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class ConcurrentCreateTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentCreateTest.class);
+
+    private static final String NS = "http://test.lf.de/concurrent#";
+
+    private static final int NUM_THREADS = 8;
+
+    private static final int NUM_RESOURCES = 200;
+
+    private static final int NUM_NAMES_PER_TRANSACTION = 1000;
+
+    /**
+     * Lower bound of statements per second, far below the expected value.
+     */
+    private static final int MIN_THROUGHPUT = 20;
+
+    private String workDir;
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        workDir = FileStoreUtil.prepareTempStore();
+        store = new NeoGraphDataStore(workDir);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (store != null) {
+            closeStore();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldNotCreateDuplicatesForConcurrentAttachments() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (int t = 0; t < NUM_THREADS; t++) {
+            results.add(executor.submit(new Worker(t, start)));
+        }
+
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Future<Integer> result : results) {
+            Assert.assertEquals(NUM_RESOURCES, result.get(5, TimeUnit.MINUTES).intValue());
+        }
+        final long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        executor.shutdown();
+
+        final int expected = NUM_THREADS * NUM_RESOURCES;
+        final long throughput = expected * 1000L / millis;
+        LOGGER.info("{} threads added {} statements in {} ms ({} per second).",
+                new Object[] { NUM_THREADS, expected, millis, throughput });
+        Assert.assertTrue("Throughput too low: " + throughput + " statements per second.", throughput >= MIN_THROUGHPUT);
+
+        final Conversation conversation = gate.startConversation();
+        for (int i = 0; i < NUM_RESOURCES; i++) {
+            final QualifiedName qn = qualifiedName(i);
+            Assert.assertNotNull("No node for " + qn, store.find(qn));
+            final ResourceNode resource = conversation.findResource(qn);
+            Assert.assertNotNull(resource);
+            Assert.assertEquals("Statements of " + qn + " are spread over several nodes.",
+                    NUM_THREADS, countSerialNumbers(resource));
+        }
+        conversation.close();
+        closeStore();
+
+        // Count what has actually been stored, bypassing key table and conversations.
+        final GraphDatabaseService gdb = new EmbeddedGraphDatabase(workDir);
+        try {
+            final Map<String, Integer> nodesByURI = new HashMap<String, Integer>();
+            int stored = 0;
+            for (Node node : GlobalGraphOperations.at(gdb).getAllNodes()) {
+                final String uri = (String) node.getProperty(NeoConstants.PROPERTY_URI, null);
+                if (uri == null || !uri.startsWith(NS)) {
+                    continue;
+                }
+                final Integer count = nodesByURI.get(uri);
+                nodesByURI.put(uri, count == null ? 1 : count + 1);
+                for (Relationship rel : node.getRelationships(Direction.OUTGOING)) {
+                    stored++;
+                }
+            }
+            for (Map.Entry<String, Integer> entry : nodesByURI.entrySet()) {
+                Assert.assertEquals("Duplicate nodes for " + entry.getKey(), 1, entry.getValue().intValue());
+            }
+            Assert.assertEquals(NUM_RESOURCES, nodesByURI.size());
+            Assert.assertEquals(expected, stored);
+        } finally {
+            gdb.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotBlockTransactionsCreatingDifferentNames() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        // Both transactions hold the locks of all their names when they meet at the barrier.
+        final CyclicBarrier beforeCommit = new CyclicBarrier(2);
+        final Future<Integer> first = executor.submit(new Creator("First", beforeCommit));
+        final Future<Integer> second = executor.submit(new Creator("Second", beforeCommit));
+        Assert.assertEquals(NUM_NAMES_PER_TRANSACTION, first.get(5, TimeUnit.MINUTES).intValue());
+        Assert.assertEquals(NUM_NAMES_PER_TRANSACTION, second.get(5, TimeUnit.MINUTES).intValue());
+        executor.shutdown();
+
+        int found = 0;
+        for (String prefix : new String[] { "First", "Second" }) {
+            for (int i = 0; i < NUM_NAMES_PER_TRANSACTION; i++) {
+                if (store.find(new QualifiedName(NS, prefix + i)) != null) {
+                    found++;
+                }
+            }
+        }
+        Assert.assertEquals(2 * NUM_NAMES_PER_TRANSACTION, found);
+    }
+
+    // ----------------------------------------------------
+
+    private void closeStore() {
+        connection.close();
+        gate.close();
+        store.close();
+        store = null;
+    }
+
+    private static QualifiedName qualifiedName(int i) {
+        return new QualifiedName(NS, "Resource" + i);
+    }
+
+    private static int countSerialNumbers(ResourceNode resource) {
+        int count = 0;
+        for (Statement stmt : resource.getAssociations()) {
+            if (Aras.HAS_SERIAL_NUMBER.equals(stmt.getPredicate())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Adds one statement to each of the shared resources, each in its own transaction.
+     */
+    private class Worker implements Callable<Integer> {
+
+        private final int number;
+
+        private final CountDownLatch start;
+
+        private Worker(int number, CountDownLatch start) {
+            this.number = number;
+            this.start = start;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            final Conversation conversation = gate.startConversation();
+            start.await();
+            int count = 0;
+            for (int i = 0; i < NUM_RESOURCES; i++) {
+                final ResourceNode subject = new SNResource(qualifiedName(i));
+                conversation.addStatement(new DetachedStatement(subject, Aras.HAS_SERIAL_NUMBER, new SNScalar(number)));
+                count++;
+            }
+            conversation.close();
+            return count;
+        }
+    }
+
+    /**
+     * Creates names of its own in a single transaction, waiting for the other creator before committing.
+     */
+    private class Creator implements Callable<Integer> {
+
+        private final String prefix;
+
+        private final CyclicBarrier beforeCommit;
+
+        private Creator(String prefix, CyclicBarrier beforeCommit) {
+            this.prefix = prefix;
+            this.beforeCommit = beforeCommit;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            final Conversation conversation = gate.startConversation();
+            final TransactionControl tx = conversation.beginTransaction();
+            int count = 0;
+            try {
+                for (int i = 0; i < NUM_NAMES_PER_TRANSACTION; i++) {
+                    final ResourceNode subject = new SNResource(new QualifiedName(NS, prefix + i));
+                    conversation.addStatement(new DetachedStatement(subject, Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+                    count++;
+                }
+                beforeCommit.await(1, TimeUnit.MINUTES);
+                tx.commit();
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                conversation.close();
+            }
+            return count;
+        }
+    }
+
+}
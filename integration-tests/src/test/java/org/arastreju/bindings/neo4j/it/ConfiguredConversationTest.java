@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuProfile;
+import org.arastreju.sge.spi.GraphDataStore;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.arastreju.tck.AbstractConversationTest;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>
+ *  Black box tests against conversation using Neo4J backend, once for each optional store setting.
+ *  The settings are applied as profile properties, see {@link NeoStoreConfiguration#from(ArastrejuProfile)}.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@RunWith(Parameterized.class)
+public class ConfiguredConversationTest extends AbstractConversationTest {
+
+    private final String property;
+
+    private final String value;
+
+    // -----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param property The profile property of the setting.
+     * @param value The value of the setting.
+     */
+    public ConfiguredConversationTest(String property, String value) {
+        this.property = property;
+        this.value = value;
+    }
+
+    @Parameters
+    public static Collection<Object[]> settings() {
+        return Arrays.asList(new Object[][] {
+                { NeoStoreConfiguration.PREDICATE_TYPED_RELATIONSHIPS, "true" },
+                { NeoStoreConfiguration.INTERNED_LITERALS, "true" },
+                { NeoStoreConfiguration.INTERNED_URIS, "true" },
+                { NeoStoreConfiguration.INLINE_LITERAL_MAX_LENGTH, "64" },
+                { NeoStoreConfiguration.TYPED_LITERALS, "true" },
+                { NeoStoreConfiguration.WRITE_BEHIND, "true" },
+                { NeoStoreConfiguration.GROUP_COMMIT_WINDOW, "2" },
+                { NeoStoreConfiguration.LAZY_TRANSACTIONS, "true" },
+                { NeoStoreConfiguration.KEY_TABLE, NeoStoreConfiguration.KEY_TABLE_MAPPED },
+                { NeoStoreConfiguration.QN_FILTER_SIZE, "10000" }
+        });
+    }
+
+    // -----------------------------------------------------
+
+    @Override
+    protected GraphDataStore createStore() throws IOException {
+        final ArastrejuProfile profile = new ArastrejuProfile("tck");
+        profile.setProperty(property, value);
+        return new NeoGraphDataStore(FileStoreUtil.prepareTempStore(), NeoStoreConfiguration.from(profile));
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.ContextRegistry;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+/**
+ * <p>
+ *  Test case for the persisted context registry.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class ContextRegistryTest {
+
+    private static final String NS = "http://test.lf.de/contexts#";
+
+    private String dir;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldLoadRegisteredContexts() throws Exception {
+        final QualifiedName kept = new QualifiedName(NS, "Kept");
+        final QualifiedName removed = new QualifiedName(NS, "Removed");
+
+        ContextRegistry registry = new ContextRegistry(dir);
+        registry.register(kept);
+        registry.register(removed);
+        registry.unregister(removed);
+        registry.close();
+
+        // A torn entry written partially before a crash.
+        final FileOutputStream out = new FileOutputStream(new File(dir, ContextRegistry.FILE_NAME), true);
+        out.write(new byte[] { '+', 0, 42, 'h' });
+        out.close();
+
+        registry = new ContextRegistry(dir);
+        Assert.assertEquals(1, registry.size());
+        Assert.assertNotNull(registry.get(kept.toURI()));
+        Assert.assertNull(registry.get(removed.toURI()));
+
+        // Registering after the compaction must not be lost.
+        registry.register(removed);
+        registry.close();
+        registry = new ContextRegistry(dir);
+        Assert.assertEquals(2, registry.size());
+        registry.close();
+    }
+
+    @Test
+    public void shouldDropContextsWithoutNodeOnOpen() throws Exception {
+        final QualifiedName existing = new QualifiedName(NS, "Existing");
+        final QualifiedName rolledBack = new QualifiedName(NS, "RolledBack");
+
+        NeoGraphDataStore store = new NeoGraphDataStore(dir, new NeoStoreConfiguration());
+        final GraphDataConnection connection = new GraphDataConnectionImpl(store);
+        final ArastrejuGate gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+        final Conversation conversation = gate.startConversation();
+        conversation.addStatement(new DetachedStatement(new SNResource(existing), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        conversation.close();
+        connection.close();
+        gate.close();
+        store.close();
+
+        final ContextRegistry registry = new ContextRegistry(dir);
+        registry.register(existing);
+        registry.register(rolledBack);
+        registry.close();
+
+        store = new NeoGraphDataStore(dir, new NeoStoreConfiguration());
+        Assert.assertNotNull(store.getContextRegistry().get(existing.toURI()));
+        Assert.assertNull(store.getContextRegistry().get(rolledBack.toURI()));
+        store.close();
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer;
+import org.arastreju.bindings.neo4j.tx.GroupCommitter;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Failures of group committed transactions: a durable commit whose buffered writes can't be applied
+ *  has to fail, while the other transactions of the same group are committed. Writes of not durable
+ *  commits still queued have to be committed when the store is closed.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class GroupCommitFailureTest {
+
+    private static final String NS = "http://test.lf.de/group-commit#";
+
+    private static final QualifiedName SUBJECT = new QualifiedName(NS, "Subject");
+
+    private static final QualifiedName OBJECT = new QualifiedName(NS, "Object");
+
+    private static final QualifiedName OTHER = new QualifiedName(NS, "Other");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    /**
+     * Long enough for the object to be removed before the group is applied.
+     */
+    private static final int WINDOW_MILLIS = 3000;
+
+    private String dir;
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+        open(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldFailDurableCommitOnlyForFailedTransaction() throws Exception {
+        // New nodes are written directly, so these transactions are not group committed.
+        final Conversation setup = gate.startConversation();
+        final TransactionControl tx = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(SUBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        setup.addStatement(new DetachedStatement(new SNResource(OBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        setup.addStatement(new DetachedStatement(new SNResource(OTHER), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        tx.commit();
+        setup.close();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final CountDownLatch added = new CountDownLatch(2);
+        final Future<?> failing = executor.submit(new Writer(
+                new DetachedStatement(new SNResource(SUBJECT), LINKS, new SNResource(OBJECT)), added));
+        final Future<?> succeeding = executor.submit(new Writer(
+                new DetachedStatement(new SNResource(OTHER), Aras.HAS_SERIAL_NUMBER, new SNScalar(2)), added));
+        Assert.assertTrue(added.await(1, TimeUnit.MINUTES));
+
+        // Remove the object, before the buffered reference to it is applied by the group committer.
+        final Conversation remover = gate.startConversation();
+        final TransactionControl removal = remover.beginTransaction();
+        remover.remove(new SNResource(OBJECT));
+        removal.commit();
+        remover.close();
+
+        try {
+            failing.get(1, TimeUnit.MINUTES);
+            Assert.fail("Commit of a statement referencing a removed node should fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        succeeding.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        final Conversation conversation = gate.startConversation();
+        final ResourceNode subject = conversation.findResource(SUBJECT);
+        Assert.assertEquals(1, subject.getAssociations().size());
+        Assert.assertEquals(2, conversation.findResource(OTHER).getAssociations().size());
+        Assert.assertNull(conversation.findResource(OBJECT));
+        conversation.close();
+    }
+
+    @Test
+    public void shouldCommitQueuedWritesOnShutdown() throws Exception {
+        final Conversation setup = gate.startConversation();
+        final TransactionControl setupTx = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(OTHER), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        setupTx.commit();
+        setup.close();
+        close();
+
+        open(false);
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        conversation.addStatement(new DetachedStatement(new SNResource(OTHER), Aras.HAS_SERIAL_NUMBER, new SNScalar(2)));
+        tx.commit();
+        conversation.close();
+        // Queued, not committed before the window has passed or the store is closed.
+        close();
+
+        open(true);
+        final Conversation verification = gate.startConversation();
+        Assert.assertEquals(2, verification.findResource(OTHER).getAssociations().size());
+        verification.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectWritesAfterShutdown() {
+        final GroupCommitter committer = new GroupCommitter(null, WINDOW_MILLIS);
+        committer.shutdown();
+        committer.submit(new NeoWriteBuffer(store).drain());
+    }
+
+    // ----------------------------------------------------
+
+    private void open(boolean durable) throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setGroupCommitWindow(WINDOW_MILLIS);
+        config.setGroupCommitDurable(durable);
+        store = new NeoGraphDataStore(dir, config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    private void close() {
+        if (store != null) {
+            connection.close();
+            gate.close();
+            store.close();
+            store = null;
+        }
+    }
+
+    private class Writer implements Callable<Void> {
+
+        private final Statement stmt;
+
+        private final CountDownLatch added;
+
+        private Writer(Statement stmt, CountDownLatch added) {
+            this.stmt = stmt;
+            this.added = added;
+        }
+
+        @Override
+        public Void call() {
+            final Conversation conversation = gate.startConversation();
+            try {
+                final TransactionControl tx = conversation.beginTransaction();
+                try {
+                    conversation.addStatement(stmt);
+                } finally {
+                    added.countDown();
+                }
+                tx.commit();
+            } finally {
+                conversation.close();
+            }
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoAssociationResolver;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.WorkingContext;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ *  Test cases for the resolution of incoming references, in both relationship layouts.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class IncomingReferencesTest {
+
+    private static final String NS = "http://test.lf.de/incoming#";
+
+    private static final QualifiedName CLASS = new QualifiedName(NS, "Class");
+
+    private static final ResourceID TYPE = new SimpleResourceID(NS, "type");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    private static final int NUM_INSTANCES = 10;
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldResolveIncomingReferences() throws Exception {
+        open(new NeoStoreConfiguration());
+        assertIncomingReferences();
+    }
+
+    @Test
+    public void shouldResolveIncomingPredicateTypedReferences() throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setPredicateTypedRelationships(true);
+        open(config);
+        assertIncomingReferences();
+    }
+
+    // ----------------------------------------------------
+
+    private void assertIncomingReferences() {
+        final Conversation conversation = gate.startConversation();
+        final NeoAssociationResolver resolver =
+                store.createAssociationResolver((WorkingContext) conversation.getConversationContext());
+
+        final List<Statement> instances = resolver.resolveIncoming(CLASS, TYPE.getQualifiedName(), 0, 100);
+        Assert.assertEquals(NUM_INSTANCES, instances.size());
+        final Set<QualifiedName> subjects = new HashSet<QualifiedName>();
+        for (Statement stmt : instances) {
+            Assert.assertEquals(TYPE.getQualifiedName(), stmt.getPredicate().getQualifiedName());
+            Assert.assertEquals(CLASS, stmt.getObject().asResource().getQualifiedName());
+            subjects.add(stmt.getSubject().getQualifiedName());
+        }
+        for (int i = 0; i < NUM_INSTANCES; i++) {
+            Assert.assertTrue(subjects.contains(instance(i)));
+        }
+
+        Assert.assertEquals(NUM_INSTANCES + 1, resolver.resolveIncoming(CLASS, null, 0, 100).size());
+        Assert.assertEquals(2, resolver.resolveIncoming(CLASS, TYPE.getQualifiedName(), NUM_INSTANCES - 2, 5).size());
+        Assert.assertTrue(resolver.resolveIncoming(CLASS, TYPE.getQualifiedName(), NUM_INSTANCES, 5).isEmpty());
+
+        // The outgoing reference of the class is incoming for the instance.
+        Assert.assertTrue(resolver.resolveIncoming(instance(0), TYPE.getQualifiedName(), 0, 100).isEmpty());
+        final List<Statement> links = resolver.resolveIncoming(instance(0), null, 0, 100);
+        Assert.assertEquals(1, links.size());
+        Assert.assertEquals(CLASS, links.get(0).getSubject().getQualifiedName());
+
+        Assert.assertTrue(resolver.resolveIncoming(new QualifiedName(NS, "Unknown"), null, 0, 100).isEmpty());
+        conversation.close();
+    }
+
+    private void open(NeoStoreConfiguration config) throws Exception {
+        store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore(), config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        final SNResource clazz = new SNResource(CLASS);
+        for (int i = 0; i < NUM_INSTANCES; i++) {
+            conversation.addStatement(new DetachedStatement(new SNResource(instance(i)), TYPE, clazz));
+        }
+        conversation.addStatement(new DetachedStatement(new SNResource(instance(0)), LINKS, clazz));
+        conversation.addStatement(new DetachedStatement(clazz, LINKS, new SNResource(instance(0))));
+        tx.commit();
+        conversation.close();
+    }
+
+    private static QualifiedName instance(int i) {
+        return new QualifiedName(NS, "Instance" + i);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.KeyTableMigration;
+import org.arastreju.bindings.neo4j.storage.MappedNodeKeyTable;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.QualifiedNameFilter;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.impl.LuceneBasedNodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *  Round trip of a store through the {@link KeyTableMigration}: written with the Lucene based key table,
+ *  migrated and read with the {@link MappedNodeKeyTable}.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class KeyTableMigrationTest {
+
+    private static final String NS = "http://test.lf.de/key-table-migration#";
+
+    private static final int NUM_RESOURCES = 100;
+
+    private String dir;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldFindSameNodesAfterMigration() throws Exception {
+        final Map<QualifiedName, NumericPhysicalNodeID> ids = new HashMap<QualifiedName, NumericPhysicalNodeID>();
+
+        final NeoGraphDataStore lucene = new NeoGraphDataStore(dir);
+        final GraphDataConnection connection = new GraphDataConnectionImpl(lucene);
+        final ArastrejuGate gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        for (int i = 0; i < NUM_RESOURCES; i++) {
+            conversation.addStatement(new DetachedStatement(new SNResource(name(i)), Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+        }
+        tx.commit();
+        conversation.close();
+        for (int i = 0; i < NUM_RESOURCES; i++) {
+            ids.put(name(i), (NumericPhysicalNodeID) lucene.find(name(i)).getPhysicalID());
+        }
+        connection.close();
+        gate.close();
+        lucene.close();
+
+        final GraphDatabaseService gdb = new EmbeddedGraphDatabase(dir);
+        QualifiedNameFilter.invalidate(dir);
+        final NodeKeyTable<NumericPhysicalNodeID> source = LuceneBasedNodeKeyTable.forNumericIDs(dir);
+        final MappedNodeKeyTable target = new MappedNodeKeyTable(dir);
+        try {
+            Assert.assertEquals(NUM_RESOURCES, new KeyTableMigration(gdb, source, target).migrate());
+        } finally {
+            target.shutdown();
+            source.shutdown();
+            gdb.shutdown();
+        }
+
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setKeyTable(NeoStoreConfiguration.KEY_TABLE_MAPPED);
+        final NeoGraphDataStore mapped = new NeoGraphDataStore(dir, config);
+        try {
+            for (Map.Entry<QualifiedName, NumericPhysicalNodeID> entry : ids.entrySet()) {
+                final AttachedAssociationKeeper keeper = mapped.find(entry.getKey());
+                Assert.assertNotNull("Not migrated: " + entry.getKey(), keeper);
+                Assert.assertEquals(entry.getValue().asLong(), ((NumericPhysicalNodeID) keeper.getPhysicalID()).asLong());
+            }
+            Assert.assertNull(mapped.find(name(NUM_RESOURCES)));
+        } finally {
+            mapped.close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private QualifiedName name(int i) {
+        return new QualifiedName(NS, "Resource" + i);
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.AssociationCursor;
+import org.arastreju.bindings.neo4j.storage.NeoAssociationResolver;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.WorkingContext;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ *  Test case for lazy resolution of associations and the association cursor.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class LazyResolveTest {
+
+    private static final String NS = "http://test.lf.de/lazy#";
+
+    private static final int DEGREE = 250;
+
+    private static final QualifiedName HUB = new QualifiedName(NS, "Hub");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setLazyResolve(true);
+        store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore(), config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        final SNResource hub = new SNResource(HUB);
+        conversation.addStatement(new DetachedStatement(hub, Aras.HAS_SERIAL_NUMBER, new SNScalar(-1)));
+        for (int i = 0; i < DEGREE; i++) {
+            final SNResource target = new SNResource(target(i));
+            conversation.addStatement(new DetachedStatement(target, Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+            conversation.addStatement(new DetachedStatement(hub, LINKS, target));
+        }
+        tx.commit();
+        conversation.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldResolveAllAssociationsWithLazyObjects() {
+        final Conversation conversation = gate.startConversation();
+        final ResourceNode hub = conversation.findResource(HUB);
+        Assert.assertNotNull(hub);
+        final Set<QualifiedName> targets = new HashSet<QualifiedName>();
+        for (Statement stmt : hub.getAssociations()) {
+            if (LINKS.getQualifiedName().equals(stmt.getPredicate().getQualifiedName())) {
+                Assert.assertTrue(stmt.getObject().isResourceNode());
+                targets.add(stmt.getObject().asResource().getQualifiedName());
+            }
+        }
+        Assert.assertEquals(DEGREE, targets.size());
+
+        // The objects are resolved through the conversation when accessed.
+        final ResourceNode target = conversation.findResource(target(7));
+        Assert.assertEquals(1, target.getAssociations().size());
+        conversation.close();
+    }
+
+    @Test
+    public void shouldAttachLazyObjectsOnAccess() {
+        final Conversation conversation = gate.startConversation();
+        final WorkingContext ctx = (WorkingContext) conversation.getConversationContext();
+        final ResourceNode hub = conversation.findResource(HUB);
+        int walked = 0;
+        for (Statement stmt : hub.getAssociations()) {
+            if (!LINKS.getQualifiedName().equals(stmt.getPredicate().getQualifiedName())) {
+                continue;
+            }
+            final ResourceNode target = stmt.getObject().asResource();
+            Assert.assertNull(ctx.lookup(target.getQualifiedName()));
+            final Set<Statement> associations = target.getAssociations();
+            Assert.assertEquals(1, associations.size());
+            Assert.assertEquals(Aras.HAS_SERIAL_NUMBER, associations.iterator().next().getPredicate());
+            Assert.assertNotNull(ctx.lookup(target.getQualifiedName()));
+            walked++;
+        }
+        Assert.assertEquals(DEGREE, walked);
+        conversation.close();
+    }
+
+    @Test
+    public void shouldIterateAssociationsInChunks() {
+        final Conversation conversation = gate.startConversation();
+        final NeoAssociationResolver resolver =
+                store.createAssociationResolver((WorkingContext) conversation.getConversationContext());
+
+        final AssociationCursor cursor = resolver.iterateAssociations(HUB, LINKS.getQualifiedName());
+        Assert.assertEquals(100, cursor.skip(100));
+        final List<Statement> chunk = cursor.nextChunk(100);
+        Assert.assertEquals(100, chunk.size());
+        Assert.assertEquals(DEGREE - 200, cursor.nextChunk(100).size());
+        Assert.assertFalse(cursor.hasNext());
+
+        final AssociationCursor all = resolver.iterateAssociations(HUB);
+        Assert.assertEquals(DEGREE + 1, all.nextChunk(DEGREE * 2).size());
+        conversation.close();
+    }
+
+    // ----------------------------------------------------
+
+    private static QualifiedName target(int i) {
+        return new QualifiedName(NS, "Target" + i);
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.LiteralCodec;
+import org.arastreju.bindings.neo4j.storage.NeoConstants;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.UriDictionary;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.SNOPS;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ElementaryDataType;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.SNValue;
+import org.arastreju.sge.model.nodes.ValueNode;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ *  Round trips of literals through the typed layout of the {@link LiteralCodec}, and lookups of statements
+ *  with typed literals by their string representation.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class LiteralCodecTest {
+
+    private static final String NS = "http://test.lf.de/literal-codec#";
+
+    private static final QualifiedName SUBJECT = new QualifiedName(NS, "Subject");
+
+    private static final ResourceID HAS_VALUE = new SimpleResourceID(NS, "hasValue");
+
+    private String dir;
+
+    private GraphDatabaseService gdb;
+
+    private UriDictionary dictionary;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+        gdb = new EmbeddedGraphDatabase(dir);
+        dictionary = new UriDictionary(dir);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dictionary.close();
+        gdb.shutdown();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldRoundTripTypedLiterals() {
+        final LiteralCodec codec = new LiteralCodec(dictionary, true);
+        for (ValueNode value : values()) {
+            final Node node = write(codec, value);
+            final ValueNode decoded = codec.decode(node);
+            Assert.assertEquals(value.getDataType(), decoded.getDataType());
+            Assert.assertEquals(value.getStringValue(), decoded.getStringValue());
+            Assert.assertEquals(value.getLocale(), decoded.getLocale());
+            Assert.assertEquals(value.getStringValue(), codec.getStringValue(node));
+        }
+    }
+
+    @Test
+    public void shouldStoreNativePrimitives() {
+        final LiteralCodec codec = new LiteralCodec(dictionary, true);
+
+        final Node integer = write(codec, new SNValue(ElementaryDataType.INTEGER, Integer.valueOf(42), null));
+        Assert.assertEquals(Long.valueOf(42), integer.getProperty(NeoConstants.PROPERTY_VALUE));
+        Assert.assertEquals(Long.valueOf(42), codec.decode(integer).getValue());
+
+        final BigDecimal exact = new BigDecimal("12.50");
+        final Node exactDecimal = write(codec, new SNValue(ElementaryDataType.DECIMAL, exact, null));
+        Assert.assertTrue(exactDecimal.getProperty(NeoConstants.PROPERTY_VALUE) instanceof Double);
+        Assert.assertEquals(exact, codec.decode(exactDecimal).getValue());
+
+        final BigDecimal inexact = new BigDecimal("0.12345678901234567890123");
+        final Node inexactDecimal = write(codec, new SNValue(ElementaryDataType.DECIMAL, inexact, null));
+        Assert.assertTrue(inexactDecimal.getProperty(NeoConstants.PROPERTY_VALUE) instanceof String);
+
+        final Node floating = write(codec, new SNValue(ElementaryDataType.DECIMAL, Float.valueOf(1.5f), null));
+        Assert.assertEquals(Float.valueOf(1.5f), floating.getProperty(NeoConstants.PROPERTY_VALUE));
+        Assert.assertEquals(Float.valueOf(1.5f), codec.decode(floating).getValue());
+
+        final Date now = new Date();
+        final Node date = write(codec, new SNValue(ElementaryDataType.TIMESTAMP, now, null));
+        Assert.assertEquals(now.getTime(), date.getProperty(NeoConstants.PROPERTY_VALUE));
+        Assert.assertEquals(now, codec.decode(date).getValue());
+    }
+
+    @Test
+    public void shouldReadTypedLayoutWithoutTypedLiterals() {
+        final LiteralCodec typed = new LiteralCodec(dictionary, true);
+        final LiteralCodec plain = new LiteralCodec(dictionary, false);
+        for (ValueNode value : values()) {
+            final Node node = write(typed, value);
+            Assert.assertEquals(value.getStringValue(), plain.decode(node).getStringValue());
+            Assert.assertEquals(value.getStringValue(), plain.getStringValue(node));
+        }
+    }
+
+    @Test
+    public void shouldFindAndRemoveStatementsWithTypedLiterals() throws Exception {
+        for (boolean statementIndex : new boolean[] { true, false }) {
+            final NeoStoreConfiguration config = new NeoStoreConfiguration();
+            config.setTypedLiterals(true);
+            config.setStatementIndex(statementIndex);
+            config.setInlineLiteralMaxLength(16);
+            final NeoGraphDataStore store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore(), config);
+            final GraphDataConnection connection = new GraphDataConnectionImpl(store);
+            final ArastrejuGate gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+            try {
+                final Conversation conversation = gate.startConversation();
+                TransactionControl tx = conversation.beginTransaction();
+                for (ValueNode value : values()) {
+                    conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), HAS_VALUE, value));
+                }
+                tx.commit();
+
+                if (statementIndex) {
+                    final Node subject = store.getNeoNode(SUBJECT);
+                    for (ValueNode value : values()) {
+                        Assert.assertNotNull("Not found by index: " + value,
+                                store.getStatementIndex().find(subject, HAS_VALUE.toURI(), SNOPS.string(value)));
+                    }
+                }
+
+                final ResourceNode subject = conversation.findResource(SUBJECT);
+                Assert.assertEquals(values().size(), subject.getAssociations().size());
+                tx = conversation.beginTransaction();
+                for (Statement stmt : new ArrayList<Statement>(subject.getAssociations())) {
+                    conversation.removeStatement(stmt);
+                }
+                tx.commit();
+                conversation.close();
+
+                final Conversation verification = gate.startConversation();
+                Assert.assertTrue(verification.findResource(SUBJECT).getAssociations().isEmpty());
+                verification.close();
+            } finally {
+                connection.close();
+                gate.close();
+                store.close();
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private List<ValueNode> values() {
+        final List<ValueNode> values = new ArrayList<ValueNode>();
+        values.add(new SNValue(ElementaryDataType.INTEGER, Integer.valueOf(42), null));
+        values.add(new SNValue(ElementaryDataType.INTEGER, Long.valueOf(Long.MIN_VALUE), null));
+        values.add(new SNValue(ElementaryDataType.INTEGER, new BigInteger("123456789012345678901234567890"), null));
+        values.add(new SNValue(ElementaryDataType.DECIMAL, new BigDecimal("12.50"), null));
+        values.add(new SNValue(ElementaryDataType.DECIMAL, new BigDecimal("0.12345678901234567890123"), null));
+        values.add(new SNValue(ElementaryDataType.DECIMAL, Double.valueOf(0.1), null));
+        values.add(new SNValue(ElementaryDataType.DECIMAL, Float.valueOf(1.5f), null));
+        values.add(new SNValue(ElementaryDataType.BOOLEAN, Boolean.TRUE, null));
+        values.add(new SNValue(ElementaryDataType.TIMESTAMP, new Date(1381500000000L), null));
+        values.add(new SNValue(ElementaryDataType.STRING, "Literal", Locale.GERMANY));
+        return values;
+    }
+
+    private Node write(LiteralCodec codec, ValueNode value) {
+        final Transaction tx = gdb.beginTx();
+        try {
+            final Node node = gdb.createNode();
+            codec.encode(node, value);
+            tx.success();
+            return node;
+        } finally {
+            tx.finish();
+        }
+    }
+
+}
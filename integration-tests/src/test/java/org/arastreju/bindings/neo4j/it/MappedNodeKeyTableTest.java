@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.MappedNodeKeyTable;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+
+/**
+ * <p>
+ *  Test case for the memory mapped key table: recovery after an unclean shutdown, values spanning
+ *  mapped segments and compaction of the log.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class MappedNodeKeyTableTest {
+
+    private static final String NS = "http://test.lf.de/keys#";
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // Size of a log record without the URI bytes, see MappedNodeKeyTable.
+    private static final int RECORD_OVERHEAD = 17;
+
+    private static final int LOG_HEADER = 8;
+
+    private String dir;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldReplayLogAfterUncleanShutdown() throws Exception {
+        final MappedNodeKeyTable crashed = new MappedNodeKeyTable(dir);
+        for (int i = 0; i < 100; i++) {
+            crashed.put(name(i), new NumericPhysicalNodeID(i));
+        }
+        crashed.remove(name(7));
+        crashed.put(name(8), new NumericPhysicalNodeID(1008));
+        // No shutdown, the index is not marked clean.
+
+        final MappedNodeKeyTable table = new MappedNodeKeyTable(dir);
+        Assert.assertEquals(99, table.size());
+        Assert.assertNull(table.lookup(name(7)));
+        Assert.assertEquals(1008L, table.lookup(name(8)).asLong());
+        Assert.assertEquals(99L, table.lookup(name(99)).asLong());
+        table.shutdown();
+    }
+
+    @Test
+    public void shouldDiscardTornRecordOnReplay() throws Exception {
+        final MappedNodeKeyTable crashed = new MappedNodeKeyTable(dir);
+        long lastRecord = LOG_HEADER;
+        for (int i = 0; i < 10; i++) {
+            crashed.put(name(i), new NumericPhysicalNodeID(i));
+            if (i < 9) {
+                lastRecord += RECORD_OVERHEAD + uriLength(i);
+            }
+        }
+
+        // Corrupt the checksum of the last record, as if it had been written partially.
+        final RandomAccessFile log = new RandomAccessFile(new File(dir, MappedNodeKeyTable.LOG_FILE), "rw");
+        try {
+            final long checksum = lastRecord + 13 + uriLength(9);
+            log.seek(checksum);
+            final int value = log.readInt();
+            log.seek(checksum);
+            log.writeInt(~value);
+        } finally {
+            log.close();
+        }
+
+        MappedNodeKeyTable table = new MappedNodeKeyTable(dir);
+        Assert.assertEquals(9, table.size());
+        Assert.assertNull(table.lookup(name(9)));
+        Assert.assertEquals(8L, table.lookup(name(8)).asLong());
+
+        // Appends continue after the last complete record.
+        table.put(name(9), new NumericPhysicalNodeID(9));
+        table.shutdown();
+        table = new MappedNodeKeyTable(dir);
+        Assert.assertEquals(10, table.size());
+        Assert.assertEquals(9L, table.lookup(name(9)).asLong());
+        table.shutdown();
+    }
+
+    @Test
+    public void shouldSpanSegments() throws Exception {
+        // Segments of 4 KB, so that log records and index slots span segment boundaries.
+        MappedNodeKeyTable table = new MappedNodeKeyTable(dir, 12);
+        for (int i = 0; i < 5000; i++) {
+            table.put(name(i), new NumericPhysicalNodeID(i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(i, table.lookup(name(i)).asLong());
+        }
+        table.shutdown();
+
+        table = new MappedNodeKeyTable(dir, 12);
+        Assert.assertEquals(5000, table.size());
+        Assert.assertEquals(4321L, table.lookup(name(4321)).asLong());
+        table.shutdown();
+    }
+
+    @Test
+    public void shouldCompactLog() throws Exception {
+        MappedNodeKeyTable table = new MappedNodeKeyTable(dir);
+        for (int i = 0; i < 10; i++) {
+            table.put(name(i), new NumericPhysicalNodeID(i));
+        }
+        // Enough overwritten and removed entries to fill the initial log several times.
+        for (int round = 0; round < 20000; round++) {
+            final QualifiedName qn = name(100 + round % 10);
+            table.put(qn, new NumericPhysicalNodeID(round));
+            table.remove(qn);
+        }
+        table.shutdown();
+
+        final File log = new File(dir, MappedNodeKeyTable.LOG_FILE);
+        Assert.assertTrue("Log has not been compacted: " + log.length(), log.length() <= 2 << 20);
+
+        table = new MappedNodeKeyTable(dir);
+        Assert.assertEquals(10, table.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i, table.lookup(name(i)).asLong());
+            Assert.assertNull(table.lookup(name(100 + i)));
+        }
+        table.shutdown();
+    }
+
+    // ----------------------------------------------------
+
+    private static QualifiedName name(int i) {
+        return new QualifiedName(NS, "Resource" + i);
+    }
+
+    private static int uriLength(int i) {
+        return name(i).toURI().getBytes(UTF8).length;
+    }
+
+}
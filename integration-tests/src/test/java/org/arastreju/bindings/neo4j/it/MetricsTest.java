@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.metrics.JmxNeoMetrics;
+import org.arastreju.bindings.neo4j.metrics.MBeans;
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
+import org.arastreju.bindings.neo4j.metrics.NeoMetricsFactory;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ *  Test cases for the metrics and the hub node detection of a store.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class MetricsTest {
+
+    private static final String NS = "http://test.lf.de/metrics#";
+
+    private static final QualifiedName HUB = new QualifiedName(NS, "Hub");
+
+    private static final int DEGREE_THRESHOLD = 5;
+
+    private String dir;
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (store != null) {
+            connection.close();
+            gate.close();
+            store.close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldRecordResolveAndDetectHubNode() throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setMetrics(true);
+        config.setHubNodeDegreeThreshold(DEGREE_THRESHOLD);
+        open(config);
+        writeHub();
+
+        final Conversation conversation = gate.startConversation();
+        Assert.assertEquals(2 * DEGREE_THRESHOLD, conversation.findResource(HUB).getAssociations().size());
+        conversation.close();
+
+        final JmxNeoMetrics metrics = (JmxNeoMetrics) store.getMetrics();
+        Assert.assertTrue(metrics.getTimer(NeoMetrics.Timer.RESOLVE).getCount() > 0);
+        Assert.assertTrue(metrics.getTimer(NeoMetrics.Timer.WRITE).getCount() >= 2 * DEGREE_THRESHOLD);
+        Assert.assertTrue(metrics.getResolvedRelationships().getMax() >= 2 * DEGREE_THRESHOLD);
+
+        Assert.assertTrue(store.getHubNodeDetector().getDetectionCount() > 0);
+        Assert.assertTrue(store.getHubNodeDetector().getRecentDetections()[0].contains("Hub"));
+
+        final String storeName = new File(dir).getAbsolutePath();
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                MBeans.objectName("Metrics", storeName, NeoMetrics.Timer.RESOLVE.getName())));
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                MBeans.objectName("HubNodes", storeName, null)));
+    }
+
+    @Test
+    public void shouldNotTakeOverMBeansOfOpenStore() throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setMetrics(true);
+        open(config);
+        final String storeName = new File(dir).getAbsolutePath();
+        try {
+            new JmxNeoMetrics(storeName);
+            Assert.fail("Metrics of another store with the same name should not be registered.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        // The MBeans still belong to the open store.
+        writeHub();
+        Assert.assertTrue(((JmxNeoMetrics) store.getMetrics()).getTimer(NeoMetrics.Timer.WRITE).getCount() > 0);
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(
+                MBeans.objectName("Metrics", storeName, NeoMetrics.Timer.WRITE.getName())));
+    }
+
+    @Test
+    public void shouldUseConfiguredMetricsFactory() throws Exception {
+        final RecordingMetrics recording = new RecordingMetrics();
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setMetricsFactory(new NeoMetricsFactory() {
+            @Override
+            public NeoMetrics create(String storeName) {
+                return recording;
+            }
+        });
+        open(config);
+        Assert.assertSame(recording, store.getMetrics());
+        writeHub();
+        Assert.assertTrue(recording.stopped.contains(NeoMetrics.Timer.WRITE));
+        connection.close();
+        gate.close();
+        store.close();
+        store = null;
+        Assert.assertTrue(recording.closed);
+    }
+
+    // ----------------------------------------------------
+
+    private void open(NeoStoreConfiguration config) {
+        store = new NeoGraphDataStore(dir, config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    private void writeHub() {
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        for (int i = 0; i < 2 * DEGREE_THRESHOLD; i++) {
+            conversation.addStatement(new DetachedStatement(new SNResource(HUB), Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+        }
+        tx.commit();
+        conversation.close();
+    }
+
+    /**
+     * Metrics recording the stopped timers.
+     */
+    private static class RecordingMetrics implements NeoMetrics {
+
+        private final List<Timer> stopped = new ArrayList<Timer>();
+
+        private volatile boolean closed;
+
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public synchronized void stop(Timer timer, long mark) {
+            stopped.add(timer);
+        }
+
+        @Override
+        public void resolved(int relationships, int filteredOut) {
+        }
+
+        @Override
+        public long startAllocations() {
+            return 0;
+        }
+
+        @Override
+        public void allocated(long mark, int statements) {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoConstants;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.PredicateTypeMigration;
+import org.arastreju.bindings.neo4j.storage.UriDictionary;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+import org.neo4j.tooling.GlobalGraphOperations;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *  Round trip of a store through the {@link PredicateTypeMigration}: written in the generic layout,
+ *  migrated and read with predicate typed relationships.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class PredicateTypeMigrationTest {
+
+    private static final String NS = "http://test.lf.de/migration#";
+
+    private static final QualifiedName SUBJECT = new QualifiedName(NS, "Subject");
+
+    private static final QualifiedName OBJECT = new QualifiedName(NS, "Object");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    private String dir;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldReadMigratedStatements() throws Exception {
+        final NeoGraphDataStore generic = new NeoGraphDataStore(dir);
+        withConversation(generic, new Work() {
+            @Override
+            public void run(Conversation conversation) {
+                final TransactionControl tx = conversation.beginTransaction();
+                final SNResource subject = new SNResource(SUBJECT);
+                final SNResource object = new SNResource(OBJECT);
+                conversation.addStatement(new DetachedStatement(subject, Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+                conversation.addStatement(new DetachedStatement(subject, LINKS, object));
+                conversation.addStatement(new DetachedStatement(object, Aras.HAS_SERIAL_NUMBER, new SNScalar(2)));
+                tx.commit();
+            }
+        });
+
+        final GraphDatabaseService gdb = new EmbeddedGraphDatabase(dir);
+        final UriDictionary dictionary = new UriDictionary(dir);
+        try {
+            Assert.assertEquals(3, new PredicateTypeMigration(gdb, dictionary).migrate());
+            final Set<String> genericTypes = new HashSet<String>();
+            for (NeoConstants.ArasRelationshipType type : NeoConstants.ArasRelationshipType.values()) {
+                genericTypes.add(type.name());
+            }
+            for (Relationship rel : GlobalGraphOperations.at(gdb).getAllRelationships()) {
+                Assert.assertFalse("Not migrated: " + rel, genericTypes.contains(rel.getType().name()));
+            }
+            // Nothing left to migrate.
+            Assert.assertEquals(0, new PredicateTypeMigration(gdb, dictionary).migrate());
+        } finally {
+            dictionary.close();
+            gdb.shutdown();
+        }
+
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setPredicateTypedRelationships(true);
+        withConversation(new NeoGraphDataStore(dir, config), new Work() {
+            @Override
+            public void run(Conversation conversation) {
+                final ResourceNode subject = conversation.findResource(SUBJECT);
+                Assert.assertNotNull(subject);
+                Assert.assertEquals(2, subject.getAssociations().size());
+                ResourceNode linked = null;
+                for (Statement stmt : subject.getAssociations()) {
+                    if (LINKS.getQualifiedName().equals(stmt.getPredicate().getQualifiedName())) {
+                        linked = stmt.getObject().asResource();
+                    } else {
+                        Assert.assertEquals(Aras.HAS_SERIAL_NUMBER, stmt.getPredicate());
+                    }
+                }
+                Assert.assertNotNull(linked);
+                Assert.assertEquals(OBJECT, linked.getQualifiedName());
+                Assert.assertEquals(1, conversation.findResource(OBJECT).getAssociations().size());
+            }
+        });
+    }
+
+    // ----------------------------------------------------
+
+    private void withConversation(NeoGraphDataStore store, Work work) {
+        final GraphDataConnection connection = new GraphDataConnectionImpl(store);
+        final ArastrejuGate gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+        final Conversation conversation = gate.startConversation();
+        try {
+            work.run(conversation);
+        } finally {
+            conversation.close();
+            connection.close();
+            gate.close();
+            store.close();
+        }
+    }
+
+    private interface Work {
+        void run(Conversation conversation);
+    }
+
+}
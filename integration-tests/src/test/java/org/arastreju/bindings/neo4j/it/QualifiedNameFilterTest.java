@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>
+ *  Test case for the qualified name filter across restarts of a store.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class QualifiedNameFilterTest {
+
+    private static final String NS = "http://test.lf.de/filter#";
+
+    private static final int FILTER_SIZE = 1000;
+
+    private String dir;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldFindNamesAfterRestart() {
+        final QualifiedName qn = new QualifiedName(NS, "A");
+        run(FILTER_SIZE, qn);
+
+        final NeoGraphDataStore store = open(FILTER_SIZE);
+        Assert.assertNotNull(store.find(qn));
+        Assert.assertNull(store.find(new QualifiedName(NS, "Unknown")));
+        store.close();
+    }
+
+    @Test
+    public void shouldNotTrustFilterSavedBeforeRunWithoutFilter() {
+        final QualifiedName first = new QualifiedName(NS, "First");
+        final QualifiedName second = new QualifiedName(NS, "Second");
+        run(FILTER_SIZE, first);
+        // Created while the filter is disabled, so the saved filter doesn't know it.
+        run(0, second);
+
+        final NeoGraphDataStore store = open(FILTER_SIZE);
+        Assert.assertNotNull(store.find(first));
+        Assert.assertNotNull(store.find(second));
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    private NeoGraphDataStore open(int filterSize) {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setQnFilterSize(filterSize);
+        return new NeoGraphDataStore(dir, config);
+    }
+
+    /**
+     * Open the store, create a node and close the store cleanly.
+     */
+    private void run(int filterSize, QualifiedName qn) {
+        final NeoGraphDataStore store = open(filterSize);
+        final GraphDataConnection connection = new GraphDataConnectionImpl(store);
+        final ArastrejuGate gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+        final Conversation conversation = gate.startConversation();
+        conversation.addStatement(new DetachedStatement(new SNResource(qn), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        conversation.close();
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+}
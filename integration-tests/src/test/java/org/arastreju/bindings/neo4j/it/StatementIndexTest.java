@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.StatementIndex;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.SNOPS;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ElementaryDataType;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.SNValue;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+
+/**
+ * <p>
+ *  Test case for the {@link StatementIndex} and the fallback to the relationship scan on index misses.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class StatementIndexTest {
+
+    private static final String NS = "http://test.lf.de/statement-index#";
+
+    private static final QualifiedName SUBJECT = new QualifiedName(NS, "Subject");
+
+    private static final QualifiedName OBJECT = new QualifiedName(NS, "Object");
+
+    private static final ResourceID KNOWS = new SimpleResourceID(NS, "knows");
+
+    private static final ResourceID HAS_VALUE = new SimpleResourceID(NS, "hasValue");
+
+    private String dir;
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileStoreUtil.prepareTempStore();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldFindIndexedStatementsUntilRemoved() throws Exception {
+        open(true);
+        final Conversation conversation = gate.startConversation();
+        TransactionControl tx = conversation.beginTransaction();
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), KNOWS, new SNResource(OBJECT)));
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), HAS_VALUE, literal("a")));
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), HAS_VALUE, literal("b")));
+        tx.commit();
+
+        Assert.assertNotNull(find(KNOWS, OBJECT.toURI()));
+        Assert.assertNotNull(find(HAS_VALUE, "a"));
+        Assert.assertNotNull(find(HAS_VALUE, "b"));
+        Assert.assertNull(find(HAS_VALUE, "c"));
+        Assert.assertNull(find(KNOWS, "a"));
+
+        tx = conversation.beginTransaction();
+        conversation.removeStatement(statement(conversation.findResource(SUBJECT), HAS_VALUE, "a"));
+        tx.commit();
+        conversation.close();
+
+        Assert.assertNull(find(HAS_VALUE, "a"));
+        Assert.assertNotNull(find(HAS_VALUE, "b"));
+        final Conversation verification = gate.startConversation();
+        Assert.assertEquals(2, verification.findResource(SUBJECT).getAssociations().size());
+        verification.close();
+    }
+
+    @Test
+    public void shouldFallBackToScanOnIndexMiss() throws Exception {
+        open(false);
+        final Conversation setup = gate.startConversation();
+        final TransactionControl setupTx = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(SUBJECT), KNOWS, new SNResource(OBJECT)));
+        setup.addStatement(new DetachedStatement(new SNResource(SUBJECT), HAS_VALUE, literal("a")));
+        setupTx.commit();
+        setup.close();
+        close();
+
+        // Written without statement index, so neither statement is indexed.
+        open(true);
+        Assert.assertNull(find(KNOWS, OBJECT.toURI()));
+        Assert.assertNull(find(HAS_VALUE, "a"));
+
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        final ResourceNode subject = conversation.findResource(SUBJECT);
+        conversation.removeStatement(statement(subject, KNOWS, OBJECT.toURI()));
+        conversation.removeStatement(statement(subject, HAS_VALUE, "a"));
+        tx.commit();
+        conversation.close();
+
+        final Conversation verification = gate.startConversation();
+        Assert.assertTrue(verification.findResource(SUBJECT).getAssociations().isEmpty());
+        verification.close();
+    }
+
+    // ----------------------------------------------------
+
+    private void open(boolean statementIndex) throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setStatementIndex(statementIndex);
+        store = new NeoGraphDataStore(dir, config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    private void close() throws Exception {
+        if (store != null) {
+            connection.close();
+            gate.close();
+            store.close();
+            store = null;
+        }
+    }
+
+    private Relationship find(ResourceID predicate, String object) {
+        final Node subject = store.getNeoNode(SUBJECT);
+        return store.getStatementIndex().find(subject, predicate.toURI(), object);
+    }
+
+    private Statement statement(ResourceNode subject, ResourceID predicate, String object) {
+        for (Statement stmt : subject.getAssociations()) {
+            if (predicate.getQualifiedName().equals(stmt.getPredicate().getQualifiedName())
+                    && object.equals(SNOPS.string(stmt.getObject()))) {
+                return stmt;
+            }
+        }
+        throw new AssertionError("No statement " + predicate + " " + object);
+    }
+
+    private SNValue literal(String value) {
+        return new SNValue(ElementaryDataType.STRING, value, null);
+    }
+
+}
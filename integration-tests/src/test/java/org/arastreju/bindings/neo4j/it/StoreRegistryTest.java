@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.StoreRegistry;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuProfile;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Test case for the reference counting of the {@link StoreRegistry}.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class StoreRegistryTest {
+
+    private final Set<NeoGraphDataStore> closedStores = Collections.synchronizedSet(new HashSet<NeoGraphDataStore>());
+
+    private final StoreRegistry.StoreFactory factory = new StoreRegistry.StoreFactory() {
+        @Override
+        public NeoGraphDataStore create(String storage) throws IOException {
+            return new NeoGraphDataStore(FileStoreUtil.prepareTempStore(storage)) {
+                @Override
+                public void close() {
+                    closedStores.add(this);
+                    super.close();
+                }
+            };
+        }
+    };
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldShareStoreUntilLastRelease() throws Exception {
+        final StoreRegistry registry = new StoreRegistry(factory, true);
+        final NeoGraphDataStore first = registry.acquire("a");
+        Assert.assertSame(first, registry.acquire("a"));
+        Assert.assertEquals(2, registry.getReferenceCount("a"));
+
+        registry.release("a");
+        Assert.assertFalse(closedStores.contains(first));
+        registry.release("a");
+        Assert.assertTrue(closedStores.contains(first));
+        Assert.assertEquals(0, registry.getReferenceCount("a"));
+
+        final NeoGraphDataStore second = registry.acquire("a");
+        Assert.assertNotSame(first, second);
+        registry.release("a");
+        Assert.assertTrue(closedStores.contains(second));
+    }
+
+    @Test
+    public void shouldCloseReferencedStoresWithLastReference() throws Exception {
+        final StoreRegistry registry = new StoreRegistry(factory, false);
+        final NeoGraphDataStore referenced = registry.acquire("a");
+        final NeoGraphDataStore unused = registry.acquire("b");
+        registry.release("b");
+        Assert.assertFalse(closedStores.contains(unused));
+
+        registry.onClosed(new ArastrejuProfile("test"));
+        Assert.assertTrue(closedStores.contains(unused));
+        Assert.assertFalse(closedStores.contains(referenced));
+        try {
+            registry.acquire("a");
+            Assert.fail("Stores must not be acquired after the profile has been closed.");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+
+        registry.release("a");
+        Assert.assertTrue(closedStores.contains(referenced));
+        Assert.assertEquals(0, registry.getReferenceCount("a"));
+    }
+
+    @Test
+    public void shouldNotHandOutClosedStores() throws Exception {
+        final StoreRegistry registry = new StoreRegistry(factory, true);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (int t = 0; t < 4; t++) {
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    int acquired = 0;
+                    for (int i = 0; i < 10; i++) {
+                        final NeoGraphDataStore store = registry.acquire("shared");
+                        try {
+                            Assert.assertFalse("Acquired a closed store.", closedStores.contains(store));
+                            acquired++;
+                        } finally {
+                            registry.release("shared");
+                        }
+                    }
+                    return acquired;
+                }
+            }));
+        }
+        for (Future<Integer> result : results) {
+            Assert.assertEquals(10, result.get(5, TimeUnit.MINUTES).intValue());
+        }
+        executor.shutdown();
+        Assert.assertEquals(0, registry.getReferenceCount("shared"));
+    }
+
+}
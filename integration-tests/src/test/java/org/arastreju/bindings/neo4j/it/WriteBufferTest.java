@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.it;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.ResourceID;
+import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>
+ *  Ordering of buffered and direct writes with {@link NeoWriteBuffer}: a resource is removed directly,
+ *  while statements referring to it are still buffered.
+ * </p>
+ *
+ * <p>
+ * 	Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class WriteBufferTest {
+
+    private static final String NS = "http://test.lf.de/write-buffer#";
+
+    private static final QualifiedName SUBJECT = new QualifiedName(NS, "Subject");
+
+    private static final QualifiedName OBJECT = new QualifiedName(NS, "Object");
+
+    private static final ResourceID LINKS = new SimpleResourceID(NS, "links");
+
+    private NeoGraphDataStore store;
+    private GraphDataConnection connection;
+    private ArastrejuGate gate;
+
+    // -----------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setWriteBehind(true);
+        store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore(), config);
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("test"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    @Test
+    public void shouldDiscardBufferedReferencesToRemovedResource() {
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        conversation.addStatement(new DetachedStatement(new SNResource(OBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(2)));
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), LINKS, new SNResource(OBJECT)));
+        conversation.remove(new SNResource(OBJECT));
+        tx.commit();
+        conversation.close();
+
+        final Conversation verification = gate.startConversation();
+        Assert.assertNull(verification.findResource(OBJECT));
+        final ResourceNode subject = verification.findResource(SUBJECT);
+        Assert.assertEquals(1, subject.getAssociations().size());
+        for (Statement stmt : subject.getAssociations()) {
+            Assert.assertEquals(Aras.HAS_SERIAL_NUMBER, stmt.getPredicate());
+        }
+        verification.close();
+    }
+
+    @Test
+    public void shouldApplyBufferedWritesOfOtherResources() {
+        final Conversation setup = gate.startConversation();
+        final TransactionControl setupTx = setup.beginTransaction();
+        setup.addStatement(new DetachedStatement(new SNResource(SUBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(1)));
+        setup.addStatement(new DetachedStatement(new SNResource(OBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(2)));
+        setupTx.commit();
+        setup.close();
+
+        final Conversation conversation = gate.startConversation();
+        final TransactionControl tx = conversation.beginTransaction();
+        conversation.addStatement(new DetachedStatement(new SNResource(OBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(3)));
+        conversation.addStatement(new DetachedStatement(new SNResource(SUBJECT), Aras.HAS_SERIAL_NUMBER, new SNScalar(4)));
+        conversation.remove(new SNResource(OBJECT));
+        tx.commit();
+        conversation.close();
+
+        final Conversation verification = gate.startConversation();
+        Assert.assertNull(verification.findResource(OBJECT));
+        Assert.assertEquals(2, verification.findResource(SUBJECT).getAssociations().size());
+        verification.close();
+    }
+
+}
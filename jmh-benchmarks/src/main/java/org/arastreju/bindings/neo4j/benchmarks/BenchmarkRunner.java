@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ *  Runs the benchmarks once for each thread count. Thread counts are given by the system property
+ *  'threads' as comma separated list, default is 1,2,4,8. All other arguments are passed to JMH,
+ *  e.g. a regular expression selecting benchmarks or '-p storeSize=1000'.
+ * </p>
+ *
+ * <pre>
+ *  java -Dthreads=1,4 -jar benchmarks.jar Store -rf json
+ * </pre>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class BenchmarkRunner {
+
+    public static final String DEFAULT_THREADS = "1,2,4,8";
+
+    // ----------------------------------------------------
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        for (String threads : System.getProperty("threads", DEFAULT_THREADS).split(",")) {
+            final Options options = new OptionsBuilder()
+                    .parent(cmdOptions)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuGate;
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.context.PhysicalDomain;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.arastreju.sge.spi.GraphDataConnection;
+import org.arastreju.sge.spi.impl.ArastrejuGateImpl;
+import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
+import org.arastreju.sge.spi.util.FileStoreUtil;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>
+ *  Store shared by all threads of a benchmark, populated with a parameterised number of resources.
+ *  Each resource has one statement.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+public class BenchmarkStore {
+
+    public static final String NS = "http://arastreju.org/benchmarks#";
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    public int storeSize;
+
+    private NeoGraphDataStore store;
+
+    private GraphDataConnection connection;
+
+    private ArastrejuGate gate;
+
+    // ----------------------------------------------------
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        store = new NeoGraphDataStore(FileStoreUtil.prepareTempStore());
+        connection = new GraphDataConnectionImpl(store);
+        gate = new ArastrejuGateImpl(connection, new PhysicalDomain("benchmarks"));
+
+        Conversation conversation = gate.startConversation();
+        TransactionControl tx = conversation.beginTransaction();
+        for (int i = 0; i < storeSize; i++) {
+            conversation.addStatement(new DetachedStatement(new SNResource(qualifiedName(i)), Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                tx.commit();
+                conversation.close();
+                conversation = gate.startConversation();
+                tx = conversation.beginTransaction();
+            }
+        }
+        tx.commit();
+        conversation.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+        gate.close();
+        store.close();
+    }
+
+    // ----------------------------------------------------
+
+    public NeoGraphDataStore getStore() {
+        return store;
+    }
+
+    public ArastrejuGate getGate() {
+        return gate;
+    }
+
+    /**
+     * @return The qualified name of a random one of the initially stored resources.
+     */
+    public QualifiedName randomExisting() {
+        return qualifiedName(ThreadLocalRandom.current().nextInt(storeSize));
+    }
+
+    public static QualifiedName qualifiedName(int i) {
+        return new QualifiedName(NS, "Resource" + i);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Benchmark of {@link org.arastreju.bindings.neo4j.storage.NeoAssociationResolver#resolveAssociations}
+ *  for nodes of different degree. Each invocation resolves the node in a new conversation, so that
+ *  nothing is served from the conversation's working context.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResolverBenchmark {
+
+    /**
+     * A node with a parameterised number of statements.
+     */
+    @State(Scope.Benchmark)
+    public static class Hub {
+
+        @Param({"1", "10", "100", "1000", "10000"})
+        public int degree;
+
+        private QualifiedName qn;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkStore store) {
+            qn = new QualifiedName(BenchmarkStore.NS, "Hub" + degree);
+            final Conversation conversation = store.getGate().startConversation();
+            final TransactionControl tx = conversation.beginTransaction();
+            final SNResource hub = new SNResource(qn);
+            for (int i = 0; i < degree; i++) {
+                conversation.addStatement(new DetachedStatement(hub, Aras.HAS_SERIAL_NUMBER, new SNScalar(i)));
+            }
+            tx.commit();
+            conversation.close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Benchmark
+    public int resolveAssociations(BenchmarkStore store, Hub hub) {
+        final Conversation conversation = store.getGate().startConversation();
+        try {
+            final ResourceNode node = conversation.findResource(hub.qn);
+            return node.getAssociations().size();
+        } finally {
+            conversation.close();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Benchmarks of find, create and remove of nodes in {@link org.arastreju.bindings.neo4j.storage.NeoGraphDataStore}.
+ *  Create and remove need a transaction and are measured through a conversation.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StoreBenchmark {
+
+    /**
+     * A node to be removed, created before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class RemoveCandidate {
+
+        private ResourceNode node;
+
+        @Setup(Level.Invocation)
+        public void setUp(ThreadConversation conversation) {
+            node = new SNResource();
+            final TransactionControl tx = conversation.get().beginTransaction();
+            conversation.get().attach(node);
+            tx.commit();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Benchmark
+    public AttachedAssociationKeeper find(BenchmarkStore store) {
+        return store.getStore().find(store.randomExisting());
+    }
+
+    @Benchmark
+    public ResourceNode create(ThreadConversation conversation) {
+        final TransactionControl tx = conversation.get().beginTransaction();
+        final ResourceNode node = new SNResource();
+        conversation.get().attach(node);
+        tx.commit();
+        return node;
+    }
+
+    @Benchmark
+    public void remove(ThreadConversation conversation, RemoveCandidate candidate) {
+        final TransactionControl tx = conversation.get().beginTransaction();
+        conversation.get().remove(candidate.node);
+        tx.commit();
+    }
+
+}
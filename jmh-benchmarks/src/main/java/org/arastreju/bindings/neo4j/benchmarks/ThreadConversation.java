@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.arastreju.sge.Conversation;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * <p>
+ *  A conversation per benchmark thread. It is renewed for each iteration, so that the nodes
+ *  attached to the conversation don't pile up.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+public class ThreadConversation {
+
+    private Conversation conversation;
+
+    // ----------------------------------------------------
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkStore store) {
+        conversation = store.getGate().startConversation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        conversation.close();
+    }
+
+    // ----------------------------------------------------
+
+    public Conversation get() {
+        return conversation;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.benchmarks;
+
+import org.arastreju.sge.apriori.Aras;
+import org.arastreju.sge.model.DetachedStatement;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.SNResource;
+import org.arastreju.sge.model.nodes.views.SNScalar;
+import org.arastreju.sge.persistence.TransactionControl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Benchmarks of adding and removing statements of existing nodes, i.e. of
+ *  {@link org.arastreju.bindings.neo4j.storage.NeoAssociationWriter} onCreate and onRemove.
+ *  Each operation runs in its own transaction.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WriterBenchmark {
+
+    /**
+     * A statement to be removed, added before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class RemoveCandidate {
+
+        private Statement stmt;
+
+        @Setup(Level.Invocation)
+        public void setUp(BenchmarkStore store, ThreadConversation conversation) {
+            stmt = newStatement(store);
+            final TransactionControl tx = conversation.get().beginTransaction();
+            conversation.get().addStatement(stmt);
+            tx.commit();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Benchmark
+    public Statement addStatement(BenchmarkStore store, ThreadConversation conversation) {
+        final Statement stmt = newStatement(store);
+        final TransactionControl tx = conversation.get().beginTransaction();
+        conversation.get().addStatement(stmt);
+        tx.commit();
+        return stmt;
+    }
+
+    @Benchmark
+    public void removeStatement(ThreadConversation conversation, RemoveCandidate candidate) {
+        final TransactionControl tx = conversation.get().beginTransaction();
+        conversation.get().removeStatement(candidate.stmt);
+        tx.commit();
+    }
+
+    // ----------------------------------------------------
+
+    private static Statement newStatement(BenchmarkStore store) {
+        final SNResource subject = new SNResource(store.randomExisting());
+        return new DetachedStatement(subject, Aras.HAS_SERIAL_NUMBER, new SNScalar(ThreadLocalRandom.current().nextInt()));
+    }
+
+}
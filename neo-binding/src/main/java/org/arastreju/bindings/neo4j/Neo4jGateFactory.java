@@ -17,10 +17,10 @@
 package org.arastreju.bindings.neo4j;
 
 import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoStoreConfiguration;
 import org.arastreju.sge.ArastrejuGate;
 import org.arastreju.sge.ArastrejuProfile;
 import org.arastreju.sge.context.DomainIdentifier;
-import org.arastreju.sge.index.IndexProvider;
 import org.arastreju.sge.spi.ArastrejuGateFactory;
 import org.arastreju.sge.spi.GateInitializationException;
 import org.arastreju.sge.spi.GraphDataConnection;
@@ -29,10 +29,11 @@ import org.arastreju.sge.spi.impl.GraphDataConnectionImpl;
 import org.arastreju.sge.spi.util.FileStoreUtil;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>
- *  Neo4j specific Gate Factory.
+ *  Neo4j specific Gate Factory. The stores are shared by all gates of a profile, see {@link StoreRegistry}.
  * </p>
  *
  * <p>
@@ -42,9 +43,9 @@ import java.io.IOException;
  * @author Oliver Tigges
  */
 public class Neo4jGateFactory extends ArastrejuGateFactory {
-	
-	private static final String KEY_GRAPH_DATA_STORE = "aras:neo4j:profile-object:graph-data-store";
-	
+
+	private final StoreRegistry registry;
+
 	// ----------------------------------------------------
 
 	/**
@@ -52,12 +53,20 @@ public class Neo4jGateFactory extends ArastrejuGateFactory {
 	 */
 	public Neo4jGateFactory(final ArastrejuProfile profile) {
 		super(profile);
+		// Temporary stores are not reused after the last gate has been closed.
+		this.registry = new StoreRegistry(new StoreRegistry.StoreFactory() {
+			@Override
+			public NeoGraphDataStore create(String storage) throws IOException {
+				return createStore(storage);
+			}
+		}, !isStoreDirDefined(profile));
+		profile.addListener(registry);
 	}
 	
 	// -----------------------------------------------------
 	
 	@Override
-	public synchronized ArastrejuGate create(final DomainIdentifier domainIdentifier) {
+	public ArastrejuGate create(final DomainIdentifier domainIdentifier) {
 		try {
             final GraphDataConnection connection = openConnection(domainIdentifier);
             final ArastrejuGate gate = new ArastrejuGateImpl(connection, domainIdentifier);
@@ -71,48 +80,23 @@ public class Neo4jGateFactory extends ArastrejuGateFactory {
 	// ----------------------------------------------------
 
     /**
-     * Open a new connection to the store corresponding to the context.
+     * Open a new connection to the store corresponding to the context. The store is released when
+     * the connection is closed.
      * @param ctx The context.
      * @return The new connection.
      * @throws IOException
      */
     private GraphDataConnection openConnection(DomainIdentifier ctx) throws IOException {
-        final NeoGraphDataStore store = getOrCreateStore(ctx);
-        return new GraphDataConnectionImpl(store);
+        final String storage = ctx.getStorage();
+        return new RegisteredConnection(registry.acquire(storage), storage);
     }
 
-    private NeoGraphDataStore getOrCreateStore(DomainIdentifier domainIdentifier) throws IOException {
-        final NeoGraphDataStore store = getStore(domainIdentifier);
-        if (store != null) {
-            return store;
-        } else {
-            return createStore(domainIdentifier);
-        }
-    }
-
-    private NeoGraphDataStore getStore(DomainIdentifier domainIdentifier) {
-        final String key = KEY_GRAPH_DATA_STORE + ":" + domainIdentifier.getStorage();
-        return (NeoGraphDataStore) getProfile().getProfileObject(key);
-    }
-	
     /**
      * Create and initialize the store.
-     * @param domainIdentifier The identified of the data store.
+     * @param store The name of the data store.
      * @return The {@link org.arastreju.bindings.neo4j.storage.NeoGraphDataStore}.
      * @throws IOException
      */
-    private NeoGraphDataStore createStore(DomainIdentifier domainIdentifier) throws IOException {
-        final ArastrejuProfile profile = getProfile();
-        final String storeName = domainIdentifier.getStorage();
-        final NeoGraphDataStore store = createStore(storeName);
-        profile.addListener(store);
-        if (isStoreDirDefined(profile)) {
-            final String key = KEY_GRAPH_DATA_STORE + ":" + storeName;
-            profile.setProfileObject(key, store);
-        }
-        return store;
-    }
-
     private NeoGraphDataStore createStore(String store) throws IOException {
         final ArastrejuProfile profile = getProfile();
         final String storeDir;
@@ -122,7 +106,7 @@ public class Neo4jGateFactory extends ArastrejuGateFactory {
         } else {
             storeDir = FileStoreUtil.prepareTempStore(store);
         }
-        return new NeoGraphDataStore(storeDir);
+        return new NeoGraphDataStore(storeDir, NeoStoreConfiguration.from(profile, store));
     }
 
 	// -----------------------------------------------------
@@ -131,4 +115,29 @@ public class Neo4jGateFactory extends ArastrejuGateFactory {
 		return profile.isPropertyDefined(ArastrejuProfile.ARAS_STORE_DIRECTORY);
 	}
 
+	// -----------------------------------------------------
+
+	/**
+	 * Connection releasing its store in the registry when closed.
+	 */
+	private class RegisteredConnection extends GraphDataConnectionImpl {
+
+		private final String storage;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private RegisteredConnection(NeoGraphDataStore store, String storage) {
+			super(store);
+			this.storage = storage;
+		}
+
+		@Override
+		public void close() {
+			super.close();
+			if (closed.compareAndSet(false, true)) {
+				registry.release(storage);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j;
+
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.sge.ArastrejuProfile;
+import org.arastreju.sge.spi.ProfileCloseListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *  Registry of the open stores of a profile, one per storage name. Getting an already open store is a
+ *  map lookup without any global lock. Concurrent requests for a store not yet open wait for one
+ *  thread creating it. The stores are reference counted; if configured, a store is closed as soon
+ *  as it is no longer referenced, otherwise the stores are closed with the profile. A store still referenced
+ *  when the profile is closed is closed with its last reference.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class StoreRegistry implements ProfileCloseListener {
+
+    /**
+     * Creator of the registered stores.
+     */
+    public interface StoreFactory {
+        NeoGraphDataStore create(String storage) throws IOException;
+    }
+
+    // ----------------------------------------------------
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreRegistry.class);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    private final StoreFactory factory;
+
+    private final boolean closeUnused;
+
+    private volatile boolean closed;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param factory The factory creating the stores.
+     * @param closeUnused If true, a store is closed when its last reference is released.
+     */
+    public StoreRegistry(StoreFactory factory, boolean closeUnused) {
+        this.factory = factory;
+        this.closeUnused = closeUnused;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Get the store with given name, create it if not yet open, and add a reference to it.
+     * Each call must be followed by a call of {@link #release(String)}.
+     * @param storage The name of the store.
+     * @return The store.
+     * @throws IOException if the store could not be created.
+     * @throws IllegalStateException if the profile has been closed.
+     */
+    public NeoGraphDataStore acquire(String storage) throws IOException {
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Profile has been closed, can't open store " + storage + ".");
+            }
+            Entry entry = entries.get(storage);
+            if (entry == null) {
+                final Entry created = new Entry(storage);
+                entry = entries.putIfAbsent(storage, created);
+                if (entry == null) {
+                    entry = created;
+                }
+            }
+            if (entry.reference()) {
+                try {
+                    return entry.getStore();
+                } catch (IOException e) {
+                    release(storage);
+                    throw e;
+                }
+            }
+            // The entry has been retired concurrently.
+            entries.remove(storage, entry);
+        }
+    }
+
+    /**
+     * Remove a reference to the store with given name. The store is closed if it is no longer referenced
+     * and either unused stores are closed or the profile has been closed.
+     * @param storage The name of the store.
+     */
+    public void release(String storage) {
+        final Entry entry = entries.get(storage);
+        if (entry != null && entry.dereference()) {
+            entries.remove(storage, entry);
+        }
+    }
+
+    /**
+     * @param storage The name of the store.
+     * @return The number of references to the store, 0 if not open.
+     */
+    public int getReferenceCount(String storage) {
+        final Entry entry = entries.get(storage);
+        return entry != null ? entry.getReferences() : 0;
+    }
+
+    // -- ProfileCloseListener ----------------------------
+
+    /**
+     * Close all stores no longer referenced. Stores still referenced are closed when their last reference
+     * is released.
+     */
+    @Override
+    public void onClosed(ArastrejuProfile profile) {
+        closed = true;
+        for (Entry entry : entries.values()) {
+            if (entry.closeIfUnused()) {
+                entries.remove(entry.storage, entry);
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Registered store. References are only added as long as the entry is not retired, and an entry is only
+     * retired without references. Its store is closed while retiring it, so that a store of the same name is
+     * not opened again before it has been closed.
+     */
+    private class Entry {
+
+        private final String storage;
+
+        private int references;
+
+        private volatile NeoGraphDataStore store;
+
+        private volatile boolean retired;
+
+        private Entry(String storage) {
+            this.storage = storage;
+        }
+
+        private NeoGraphDataStore getStore() throws IOException {
+            final NeoGraphDataStore existing = store;
+            if (existing != null && !retired) {
+                return existing;
+            }
+            synchronized (this) {
+                if (retired) {
+                    throw new IllegalStateException("Store " + storage + " has been closed.");
+                }
+                if (store == null) {
+                    store = factory.create(storage);
+                    LOGGER.debug("Opened store {}.", storage);
+                }
+                return store;
+            }
+        }
+
+        private synchronized int getReferences() {
+            return references;
+        }
+
+        /**
+         * @return false if the entry has been retired, no reference has been added then.
+         */
+        private synchronized boolean reference() {
+            if (retired) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        /**
+         * @return true if the entry has been retired and closed by removing the last reference.
+         */
+        private synchronized boolean dereference() {
+            if (references > 0) {
+                references--;
+            }
+            return (closeUnused || closed) && closeIfUnused();
+        }
+
+        /**
+         * @return true if the entry has been retired and closed.
+         */
+        private synchronized boolean closeIfUnused() {
+            if (retired || references > 0) {
+                return false;
+            }
+            retired = true;
+            if (store != null) {
+                store.close();
+                store = null;
+                LOGGER.debug("Closed store {}.", storage);
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * <p>
+ *  Measures the bytes allocated by the current thread. Depends on the HotSpot specific
+ *  <code>com.sun.management.ThreadMXBean</code>, so this class may only be loaded through {@link #create()}.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+class AllocationMeter {
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    // ----------------------------------------------------
+
+    private AllocationMeter(com.sun.management.ThreadMXBean threadBean) {
+        this.threadBean = threadBean;
+    }
+
+    /**
+     * @return A new meter or null if the JVM doesn't support measuring allocations.
+     */
+    static AllocationMeter create() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return new AllocationMeter(sunBean);
+            }
+        }
+        return null;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @return The bytes allocated by the current thread so far.
+     */
+    long allocatedBytes() {
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
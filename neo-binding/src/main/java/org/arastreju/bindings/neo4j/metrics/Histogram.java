@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ *  Lock free histogram of non negative values with one bucket per power of two. Recording a value costs
+ *  a few atomic increments and never allocates. Percentiles are reported as the upper bound of the bucket
+ *  they fall into, i.e. they are accurate to a factor of two.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class Histogram implements HistogramMBean {
+
+    private static final int BUCKETS = 64;
+
+    private final String unit;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param unit The unit of the recorded values, for display only.
+     */
+    public Histogram(String unit) {
+        this.unit = unit;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Record a value. Negative values are recorded as 0.
+     * @param value The value.
+     */
+    public void record(long value) {
+        final long v = Math.max(0, value);
+        // bucket b holds the values from 2^(b-1) to 2^b - 1, bucket 0 holds 0
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    // -- HistogramMBean ----------------------------------
+
+    @Override
+    public String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public long getMean() {
+        final long n = count.get();
+        return n > 0 ? sum.get() / n : 0;
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return getPercentile(0.5);
+    }
+
+    @Override
+    public long get95thPercentile() {
+        return getPercentile(0.95);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return getPercentile(0.99);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Get the upper bound of the bucket containing given percentile.
+     * @param percentile The percentile between 0 and 1.
+     * @return The upper bound of the value at the percentile.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // ----------------------------------------------------
+
+    private static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ *  Detector of hub nodes and slow scans. An operation scanning the relationships of a node is recorded,
+ *  if the number of scanned relationships or the elapsed time exceeds its threshold. The most recent
+ *  detections are kept in a bounded ring buffer, which can be queried via JMX under
+ *  <code>org.arastreju.neo4j:type=HubNodes,store=&lt;store&gt;</code>.
+ * </p>
+ *
+ * <pre>
+ *  final long mark = detector.start();
+ *  ... // scan relationships
+ *  detector.record("resolve", qn, degree, mark);
+ * </pre>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class HubNodeDetector implements HubNodeDetectorMBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HubNodeDetector.class);
+
+    private final int degreeThreshold;
+
+    private final long durationThresholdNanos;
+
+    private final boolean enabled;
+
+    private final AtomicReferenceArray<Detection> detections;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private ObjectName objectName;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param degreeThreshold The number of relationships a scan must exceed to be recorded. 0 disables this limit.
+     * @param durationThresholdMillis The duration a scan must exceed to be recorded. 0 disables this limit.
+     * @param capacity The number of detections kept.
+     */
+    public HubNodeDetector(int degreeThreshold, long durationThresholdMillis, int capacity) {
+        this.degreeThreshold = degreeThreshold;
+        this.durationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(durationThresholdMillis);
+        this.enabled = degreeThreshold > 0 || durationThresholdMillis > 0;
+        this.detections = new AtomicReferenceArray<Detection>(Math.max(1, capacity));
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Start a scan.
+     * @return The mark to be passed to {@link #record(String, QualifiedName, int, long)}.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finish a scan and record it, if a threshold is exceeded.
+     * @param operation The scanning operation.
+     * @param qn The qualified name of the scanned node.
+     * @param degree The number of relationships scanned.
+     * @param mark The mark returned by {@link #start()}.
+     */
+    public void record(String operation, QualifiedName qn, int degree, long mark) {
+        if (!enabled) {
+            return;
+        }
+        final long duration = System.nanoTime() - mark;
+        if ((degreeThreshold > 0 && degree > degreeThreshold)
+                || (durationThresholdNanos > 0 && duration > durationThresholdNanos)) {
+            final long index = count.getAndIncrement();
+            detections.set((int) (index % detections.length()), new Detection(operation, qn, degree, duration));
+            LOGGER.debug("Detected hub node {} with {} relationships in {}.", new Object[] {qn, degree, operation});
+        }
+    }
+
+    // -- HubNodeDetectorMBean ----------------------------
+
+    @Override
+    public String[] getRecentDetections() {
+        final List<String> result = new ArrayList<String>();
+        final long last = count.get();
+        final long first = Math.max(0, last - detections.length());
+        for (long i = last - 1; i >= first; i--) {
+            final Detection detection = detections.get((int) (i % detections.length()));
+            if (detection != null) {
+                result.add(detection.toString());
+            }
+        }
+        return result.toArray(new String[result.size()]);
+    }
+
+    @Override
+    public long getDetectionCount() {
+        return count.get();
+    }
+
+    @Override
+    public int getDegreeThreshold() {
+        return degreeThreshold;
+    }
+
+    @Override
+    public long getDurationThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationThresholdNanos);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < detections.length(); i++) {
+            detections.set(i, null);
+        }
+        count.set(0);
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Register this detector as MBean.
+     * @param storeName The name of the store, used in the object name.
+     * @throws IllegalStateException if the detector of a store with the same name is registered.
+     */
+    public synchronized void register(String storeName) {
+        if (!enabled || objectName != null) {
+            return;
+        }
+        final ObjectName name = MBeans.objectName("HubNodes", storeName, null);
+        if (MBeans.register(this, name)) {
+            objectName = name;
+        }
+    }
+
+    /**
+     * Unregister this detector's MBean.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        MBeans.unregister(objectName);
+        objectName = null;
+    }
+
+    // ----------------------------------------------------
+
+    private static class Detection {
+
+        private final long timestamp = System.currentTimeMillis();
+        private final String operation;
+        private final QualifiedName qn;
+        private final int degree;
+        private final long durationNanos;
+
+        private Detection(String operation, QualifiedName qn, int degree, long durationNanos) {
+            this.operation = operation;
+            this.qn = qn;
+            this.degree = degree;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timestamp))
+                    + " " + operation + " " + qn + ": " + degree + " relationships in "
+                    + TimeUnit.NANOSECONDS.toMicros(durationNanos) + " us";
+        }
+    }
+
+}
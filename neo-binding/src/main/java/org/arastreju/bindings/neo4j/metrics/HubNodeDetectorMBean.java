@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+/**
+ * <p>
+ *  Management interface of the {@link HubNodeDetector}.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public interface HubNodeDetectorMBean {
+
+    /**
+     * @return The most recent detections, newest first.
+     */
+    String[] getRecentDetections();
+
+    /**
+     * @return The total number of detections since start or last clear.
+     */
+    long getDetectionCount();
+
+    int getDegreeThreshold();
+
+    long getDurationThresholdMillis();
+
+    void clear();
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *  Metrics recording latency histograms in microseconds, the degree of resolved nodes and, if enabled
+ *  and supported by the JVM, the bytes allocated while resolving. Each histogram is registered as MBean named
+ *  <code>org.arastreju.neo4j:type=Metrics,store=&lt;store&gt;,name=&lt;metric&gt;</code>.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class JmxNeoMetrics implements NeoMetrics {
+
+    public static final String DOMAIN = MBeans.DOMAIN;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxNeoMetrics.class);
+
+    private final Map<Timer, Histogram> timers = new EnumMap<Timer, Histogram>(Timer.class);
+
+    private final Histogram resolvedRelationships = new Histogram("relationships");
+
+    private final Histogram filteredRelationships = new Histogram("relationships");
+
+    private final Histogram allocatedBytes = new Histogram("bytes");
+
+    private final Histogram allocatedBytesPerStatement = new Histogram("bytes");
+
+    private final AllocationMeter allocationMeter;
+
+    private final List<ObjectName> registered = new ArrayList<ObjectName>();
+
+    private final String storeName;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Registers the MBeans.
+     * @param storeName The name of the store, used in the object names.
+     */
+    public JmxNeoMetrics(String storeName) {
+        this(storeName, false);
+    }
+
+    /**
+     * Constructor. Registers the MBeans.
+     * @param storeName The name of the store, used in the object names.
+     * @param measureAllocations Flag indicating if the bytes allocated while resolving shall be measured.
+     * @throws IllegalStateException if the MBeans of a store with the same name are registered.
+     */
+    public JmxNeoMetrics(String storeName, boolean measureAllocations) {
+        this.storeName = storeName;
+        this.allocationMeter = measureAllocations ? createAllocationMeter() : null;
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, new Histogram("microseconds"));
+        }
+        try {
+            for (Timer timer : Timer.values()) {
+                register(timer.getName(), timers.get(timer));
+            }
+            register("resolved-relationships", resolvedRelationships);
+            register("filtered-relationships", filteredRelationships);
+            if (allocationMeter != null) {
+                register("resolve-allocated-bytes", allocatedBytes);
+                register("resolve-allocated-bytes-per-statement", allocatedBytesPerStatement);
+            }
+        } catch (IllegalStateException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop(Timer timer, long mark) {
+        timers.get(timer).record((System.nanoTime() - mark) / 1000);
+    }
+
+    @Override
+    public void resolved(int relationships, int filteredOut) {
+        resolvedRelationships.record(relationships);
+        filteredRelationships.record(filteredOut);
+    }
+
+    @Override
+    public long startAllocations() {
+        return allocationMeter != null ? allocationMeter.allocatedBytes() : 0;
+    }
+
+    @Override
+    public void allocated(long mark, int statements) {
+        if (allocationMeter != null) {
+            final long bytes = allocationMeter.allocatedBytes() - mark;
+            allocatedBytes.record(bytes);
+            if (statements > 0) {
+                allocatedBytesPerStatement.record(bytes / statements);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (registered) {
+            for (ObjectName name : registered) {
+                MBeans.unregister(name);
+            }
+            registered.clear();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    public Histogram getTimer(Timer timer) {
+        return timers.get(timer);
+    }
+
+    public Histogram getResolvedRelationships() {
+        return resolvedRelationships;
+    }
+
+    public Histogram getFilteredRelationships() {
+        return filteredRelationships;
+    }
+
+    /**
+     * @return The histogram of bytes allocated per resolved node, empty if allocations are not measured.
+     */
+    public Histogram getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return The histogram of bytes allocated per resolved statement, empty if allocations are not measured.
+     */
+    public Histogram getAllocatedBytesPerStatement() {
+        return allocatedBytesPerStatement;
+    }
+
+    // ----------------------------------------------------
+
+    private AllocationMeter createAllocationMeter() {
+        try {
+            final AllocationMeter meter = AllocationMeter.create();
+            if (meter == null) {
+                LOGGER.warn("Measuring allocations is not supported by this JVM.");
+            }
+            return meter;
+        } catch (LinkageError e) {
+            LOGGER.warn("Measuring allocations is not supported by this JVM: {}", e.toString());
+            return null;
+        }
+    }
+
+    private void register(String metric, Histogram histogram) {
+        final ObjectName name = MBeans.objectName("Metrics", storeName, metric);
+        if (MBeans.register(histogram, name)) {
+            synchronized (registered) {
+                registered.add(name);
+            }
+        }
+    }
+
+}
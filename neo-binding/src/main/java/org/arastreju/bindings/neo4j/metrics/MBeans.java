@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>
+ *  Registration of the MBeans of a store. The object names contain the name of the store, a name
+ *  registered already belongs to another open store and is never taken over.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public final class MBeans {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MBeans.class);
+
+    public static final String DOMAIN = "org.arastreju.neo4j";
+
+    // ----------------------------------------------------
+
+    private MBeans() {
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Build the object name of an MBean of a store.
+     * @param type The type of the MBean.
+     * @param storeName The name of the store.
+     * @param name The name of the MBean within type and store or null.
+     * @return The object name.
+     */
+    public static ObjectName objectName(String type, String storeName, String name) {
+        final StringBuilder sb = new StringBuilder(DOMAIN).append(":type=").append(type)
+                .append(",store=").append(ObjectName.quote(storeName));
+        if (name != null) {
+            sb.append(",name=").append(name);
+        }
+        try {
+            return new ObjectName(sb.toString());
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + sb, e);
+        }
+    }
+
+    /**
+     * Register an MBean.
+     * @param mbean The MBean.
+     * @param name The object name.
+     * @return true if registered, false if the platform refused the MBean.
+     * @throws IllegalStateException if the name is already registered, e.g. by another store in the same directory.
+     */
+    public static boolean register(Object mbean, ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("MBean " + name + " is already registered by another store.", e);
+        } catch (JMException e) {
+            LOGGER.warn("Could not register MBean {}: {}", name, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Unregister an MBean registered before.
+     * @param name The object name.
+     */
+    public static void unregister(ObjectName name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException e) {
+            LOGGER.warn("Could not unregister MBean {}.", name);
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+/**
+ * <p>
+ *  Instrumentation of the hot paths of a store. The default {@link #NOOP} implementation does
+ *  nothing, not even reading the clock, so that instrumented code has no noticeable overhead
+ *  when metrics are disabled.
+ * </p>
+ *
+ * <pre>
+ *  final long mark = metrics.start();
+ *  ... // timed operation
+ *  metrics.stop(NeoMetrics.Timer.NODE_LOAD, mark);
+ * </pre>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public interface NeoMetrics {
+
+    /**
+     * The timed operations.
+     */
+    enum Timer {
+        KEY_LOOKUP("key-lookup"),
+        NODE_LOAD("node-load"),
+        RESOLVE("resolve"),
+        WRITE("write"),
+        COMMIT("commit");
+
+        private final String name;
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Metrics doing nothing.
+     */
+    NeoMetrics NOOP = new NeoMetrics() {
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public void stop(Timer timer, long mark) {
+        }
+
+        @Override
+        public void resolved(int relationships, int filteredOut) {
+        }
+
+        @Override
+        public long startAllocations() {
+            return 0;
+        }
+
+        @Override
+        public void allocated(long mark, int statements) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    // ----------------------------------------------------
+
+    /**
+     * Start timing an operation.
+     * @return The mark to be passed to {@link #stop(Timer, long)}.
+     */
+    long start();
+
+    /**
+     * Stop timing an operation.
+     * @param timer The timer of the operation.
+     * @param mark The mark returned by {@link #start()}.
+     */
+    void stop(Timer timer, long mark);
+
+    /**
+     * Record the relationships of a resolved node.
+     * @param relationships The number of relationships read.
+     * @param filteredOut The number of relationships not regarded, e.g. because of their contexts.
+     */
+    void resolved(int relationships, int filteredOut);
+
+    /**
+     * Start measuring the bytes allocated by the current thread.
+     * @return The mark to be passed to {@link #allocated(long, int)}.
+     */
+    long startAllocations();
+
+    /**
+     * Record the bytes allocated by the current thread while resolving a node.
+     * @param mark The mark returned by {@link #startAllocations()}.
+     * @param statements The number of resolved statements.
+     */
+    void allocated(long mark, int statements);
+
+    /**
+     * Release any resources, e.g. unregister MBeans.
+     */
+    void close();
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.metrics;
+
+/**
+ * <p>
+ *  Creates the {@link NeoMetrics} of a store. Implementations are plugged in by the store configuration
+ *  and need a public no-arg constructor to be configured by class name.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public interface NeoMetricsFactory {
+
+    /**
+     * Create the metrics of a store.
+     * @param storeName The name of the store, e.g. for JMX object names.
+     * @return The metrics, released by {@link NeoMetrics#close()} when the store is closed.
+     */
+    NeoMetrics create(String storeName);
+
+}
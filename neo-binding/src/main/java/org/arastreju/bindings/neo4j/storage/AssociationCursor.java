@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.naming.QualifiedName;
+import org.neo4j.graphdb.Relationship;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ *  Lazy iterator over the associations of a node. Each relationship is converted into a statement
+ *  and its object resolved not before the cursor reaches it. Useful for nodes with a high degree,
+ *  where resolving all associations at once is too expensive.
+ * </p>
+ *
+ * <p>
+ *  An incoming cursor iterates the statements referencing the node instead, the subject of each statement
+ *  is the start node of its relationship.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class AssociationCursor implements Iterator<Statement> {
+
+    private final NeoAssociationResolver resolver;
+
+    private final QualifiedName subject;
+
+    private final String predicateURI;
+
+    private final Iterator<Iterator<Relationship>> sources;
+
+    private final ReadContextFilter filter;
+
+    private final boolean incoming;
+
+    private Iterator<Relationship> current;
+
+    private Statement next;
+
+    // ----------------------------------------------------
+
+    AssociationCursor(NeoAssociationResolver resolver, QualifiedName subject, String predicateURI,
+                      List<Iterator<Relationship>> sources, ReadContextFilter filter) {
+        this(resolver, subject, predicateURI, sources, filter, false);
+    }
+
+    AssociationCursor(NeoAssociationResolver resolver, QualifiedName node, String predicateURI,
+                      List<Iterator<Relationship>> sources, ReadContextFilter filter, boolean incoming) {
+        this.resolver = resolver;
+        this.subject = node;
+        this.predicateURI = predicateURI;
+        this.sources = sources.iterator();
+        this.filter = filter;
+        this.incoming = incoming;
+    }
+
+    // ----------------------------------------------------
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            final Relationship rel = nextRelationship();
+            if (rel == null) {
+                return false;
+            }
+            if (matches(rel)) {
+                final QualifiedName subjectQN = incoming ? resolver.getSubject(rel) : subject;
+                if (subjectQN != null) {
+                    next = resolver.toStatement(subjectQN, rel, filter);
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Statement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Statement result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Read the next chunk of statements.
+     * @param maxSize The maximum number of statements.
+     * @return The statements, an empty list if the cursor is exhausted.
+     */
+    public List<Statement> nextChunk(int maxSize) {
+        final List<Statement> chunk = new ArrayList<Statement>(Math.min(maxSize, 256));
+        while (chunk.size() < maxSize && hasNext()) {
+            chunk.add(next());
+        }
+        return chunk;
+    }
+
+    /**
+     * Skip statements without converting them, e.g. to read a page starting at an offset.
+     * @param count The number of statements to skip.
+     * @return The number of statements actually skipped, less than count if the cursor is exhausted.
+     */
+    public int skip(int count) {
+        int skipped = 0;
+        if (next != null && count > 0) {
+            next = null;
+            skipped++;
+        }
+        while (skipped < count) {
+            final Relationship rel = nextRelationship();
+            if (rel == null) {
+                break;
+            }
+            if (matches(rel) && resolver.isReadable(rel, filter)) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    // ----------------------------------------------------
+
+    private boolean matches(Relationship rel) {
+        return predicateURI == null || predicateURI.equals(resolver.getPredicateURI(rel));
+    }
+
+    private Relationship nextRelationship() {
+        while (current == null || !current.hasNext()) {
+            if (!sources.hasNext()) {
+                return null;
+            }
+            current = sources.next();
+        }
+        return current.next();
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *  Size bounded LRU cache in front of another {@link NodeKeyTable}.
+ *  Entries are invalidated on every put and remove. Only positive lookups are cached.
+ * </p>
+ *
+ * <p>
+ *  The cache is split into segments by the hash of the qualified name, each with its own lock and LRU order,
+ *  so that concurrent conversations only contend when they access the same segment. Eviction is LRU per segment.
+ *  Hits and misses are exposed via JMX by the store, see {@link CachingNodeKeyTableMBean}.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class CachingNodeKeyTable implements NodeKeyTable<NumericPhysicalNodeID>, CachingNodeKeyTableMBean {
+
+    private static final int MAX_SEGMENTS = 64;
+
+    /**
+     * Minimum capacity of a segment, small caches use fewer segments.
+     */
+    private static final int MIN_SEGMENT_SIZE = 16;
+
+    private final NodeKeyTable<NumericPhysicalNodeID> delegate;
+
+    private final Segment[] segments;
+
+    private final int maxSize;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param delegate The key table to be cached.
+     * @param maxSize The maximum number of cached entries.
+     */
+    public CachingNodeKeyTable(NodeKeyTable<NumericPhysicalNodeID> delegate, int maxSize) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 * MIN_SEGMENT_SIZE <= maxSize) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Distribute the capacity exactly, so that the cache never exceeds its maximum size.
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+    }
+
+    // ----------------------------------------------------
+
+    @Override
+    public NumericPhysicalNodeID lookup(QualifiedName qn) {
+        final Segment segment = segmentOf(qn);
+        final long modCount;
+        synchronized (segment) {
+            final NumericPhysicalNodeID cached = segment.map.get(qn);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            modCount = segment.modifications;
+        }
+        misses.incrementAndGet();
+        final NumericPhysicalNodeID id = delegate.lookup(qn);
+        if (id != null) {
+            segment.putIfUnmodified(qn, id, modCount);
+        }
+        return id;
+    }
+
+    /**
+     * Look up several qualified names. The cached ones are served from the cache,
+     * only the others are looked up in the underlying key table. These are still looked up one by one:
+     * the {@link NodeKeyTable} interface has no batch lookup, and the Lucene index of the Lucene based
+     * key table is not accessible to combine the names into a single query.
+     * @param qns The qualified names.
+     * @return The IDs of the qualified names found.
+     */
+    public Map<QualifiedName, NumericPhysicalNodeID> lookupAll(Collection<QualifiedName> qns) {
+        final Map<QualifiedName, NumericPhysicalNodeID> result = new HashMap<QualifiedName, NumericPhysicalNodeID>(qns.size() * 2);
+        final List<QualifiedName> missing = new ArrayList<QualifiedName>();
+        final List<Long> modCounts = new ArrayList<Long>();
+        for (QualifiedName qn : qns) {
+            final Segment segment = segmentOf(qn);
+            synchronized (segment) {
+                final NumericPhysicalNodeID cached = segment.map.get(qn);
+                if (cached != null) {
+                    result.put(qn, cached);
+                } else {
+                    missing.add(qn);
+                    modCounts.add(segment.modifications);
+                }
+            }
+        }
+        hits.addAndGet(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.addAndGet(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            final QualifiedName qn = missing.get(i);
+            final NumericPhysicalNodeID id = delegate.lookup(qn);
+            if (id != null) {
+                segmentOf(qn).putIfUnmodified(qn, id, modCounts.get(i));
+                result.put(qn, id);
+            }
+        }
+        return result;
+    }
+
+    // The entry is invalidated before and after the modification of the delegate. A lookup reading the
+    // old value while the delegate is modified must not be able to cache it after the first invalidation.
+
+    @Override
+    public void put(QualifiedName qn, NumericPhysicalNodeID id) {
+        invalidate(qn);
+        try {
+            delegate.put(qn, id);
+        } finally {
+            invalidate(qn);
+        }
+    }
+
+    @Override
+    public void remove(QualifiedName qn) {
+        invalidate(qn);
+        try {
+            delegate.remove(qn);
+        } finally {
+            invalidate(qn);
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        clear();
+        delegate.shutdown();
+    }
+
+    // -- CachingNodeKeyTableMBean ------------------------
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.modifications++;
+                segment.map.clear();
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private void invalidate(QualifiedName qn) {
+        final Segment segment = segmentOf(qn);
+        synchronized (segment) {
+            segment.modifications++;
+            segment.map.remove(qn);
+        }
+    }
+
+    private Segment segmentOf(QualifiedName qn) {
+        int h = qn.hashCode();
+        // Spread the higher bits, segments are selected by the lower ones.
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Segment of the cache: an access ordered map guarded by the segment's monitor, and a counter of
+     * modifications, so that a value read from the delegate is not cached after an invalidation.
+     */
+    private static class Segment {
+
+        private final Map<QualifiedName, NumericPhysicalNodeID> map;
+
+        private long modifications;
+
+        private Segment(final int capacity) {
+            this.map = new LinkedHashMap<QualifiedName, NumericPhysicalNodeID>(capacity / 4 + 16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QualifiedName, NumericPhysicalNodeID> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized void putIfUnmodified(QualifiedName qn, NumericPhysicalNodeID id, long modCount) {
+            if (modCount == modifications) {
+                map.put(qn, id);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+/**
+ * <p>
+ *  Management interface of the {@link CachingNodeKeyTable}.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public interface CachingNodeKeyTableMBean {
+
+    /**
+     * @return The number of lookups served by the cache.
+     */
+    long getHits();
+
+    /**
+     * @return The number of lookups delegated to the underlying key table.
+     */
+    long getMisses();
+
+    /**
+     * @return The current number of cached entries.
+     */
+    int getSize();
+
+    int getMaxSize();
+
+    /**
+     * Remove all entries from the cache.
+     */
+    void clear();
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.context.SimpleContextID;
+import org.arastreju.sge.naming.QualifiedName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *  Registry of the contexts known to exist in a store. Contexts are registered when statements are
+ *  assigned to them or when their existence has been checked once, and removed together with their node.
+ * </p>
+ *
+ * <p>
+ *  The registry is persisted in an append only file of added and removed context URIs, which is replayed
+ *  and compacted when the store is opened. So contexts are known after a restart without checking their
+ *  existence again. A context registered by a transaction that has been rolled back may remain in the file,
+ *  the store drops entries without a node when loading.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class ContextRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContextRegistry.class);
+
+    public static final String FILE_NAME = "context-registry";
+
+    private static final byte ADDED = '+';
+
+    private static final byte REMOVED = '-';
+
+    // ----------------------------------------------------
+
+    private final ConcurrentMap<String, SimpleContextID> contexts = new ConcurrentHashMap<String, SimpleContextID>();
+
+    private final FileOutputStream fileOut;
+
+    private final DataOutputStream out;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Loads the contexts registered in given store directory.
+     * @param dir The store directory.
+     */
+    public ContextRegistry(String dir) throws IOException {
+        final File file = new File(dir, FILE_NAME);
+        if (file.exists()) {
+            load(file);
+            compact(file);
+        } else {
+            file.getParentFile().mkdirs();
+        }
+        fileOut = new FileOutputStream(file, true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOut));
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @param uri The URI of the context.
+     * @return The registered context or null.
+     */
+    public SimpleContextID get(String uri) {
+        return contexts.get(uri);
+    }
+
+    /**
+     * Register an existing context.
+     * @param qn The qualified name of the context.
+     * @return The canonical context ID.
+     */
+    public SimpleContextID register(QualifiedName qn) {
+        final String uri = qn.toURI();
+        final SimpleContextID existing = contexts.get(uri);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            final SimpleContextID concurrent = contexts.get(uri);
+            if (concurrent != null) {
+                return concurrent;
+            }
+            final SimpleContextID created = new SimpleContextID(qn);
+            write(ADDED, uri);
+            contexts.put(uri, created);
+            return created;
+        }
+    }
+
+    /**
+     * Unregister a context, e.g. when its node has been removed.
+     * @param qn The qualified name of the context.
+     */
+    public void unregister(QualifiedName qn) {
+        final String uri = qn.toURI();
+        if (!contexts.containsKey(uri)) {
+            return;
+        }
+        synchronized (this) {
+            if (contexts.remove(uri) != null) {
+                write(REMOVED, uri);
+            }
+        }
+    }
+
+    /**
+     * @return The qualified names of all registered contexts.
+     */
+    public List<QualifiedName> getContexts() {
+        final List<QualifiedName> result = new ArrayList<QualifiedName>(contexts.size());
+        for (SimpleContextID ctx : contexts.values()) {
+            result.add(ctx.getQualifiedName());
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of registered contexts.
+     */
+    public int size() {
+        return contexts.size();
+    }
+
+    /**
+     * Close the registry file.
+     */
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // ----------------------------------------------------
+
+    private void write(byte op, String uri) {
+        try {
+            out.writeByte(op);
+            out.writeUTF(uri);
+            out.flush();
+            // Contexts are registered rarely, syncing each of them is cheap compared to the transactions using them.
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to context registry.", e);
+        }
+    }
+
+    private void load(File file) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            while (true) {
+                final byte op = in.readByte();
+                final String uri = in.readUTF();
+                if (op == ADDED) {
+                    contexts.put(uri, new SimpleContextID(QualifiedName.create(uri)));
+                } else if (op == REMOVED) {
+                    contexts.remove(uri);
+                } else {
+                    LOGGER.warn("Ignoring the rest of context registry {} after malformed entry.", file);
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            LOGGER.debug("Loaded {} contexts from context registry.", contexts.size());
+        } catch (UTFDataFormatException e) {
+            // Torn entry, written partially before a crash.
+            LOGGER.debug("Loaded {} contexts from context registry, followed by a malformed entry.", contexts.size());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Rewrite the file with the registered contexts only, dropping removed and torn entries.
+     */
+    private void compact(File file) throws IOException {
+        final File tmp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        final FileOutputStream tmpOut = new FileOutputStream(tmp);
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(tmpOut));
+        try {
+            for (String uri : contexts.keySet()) {
+                data.writeByte(ADDED);
+                data.writeUTF(uri);
+            }
+            data.flush();
+            tmpOut.getFD().sync();
+        } finally {
+            data.close();
+        }
+        if (!tmp.renameTo(file) && !(file.delete() && tmp.renameTo(file))) {
+            throw new IOException("Could not replace context registry " + file);
+        }
+    }
+
+}
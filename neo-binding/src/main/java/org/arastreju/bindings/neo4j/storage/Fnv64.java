@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+/**
+ * <p>
+ *  64 bit FNV-1a hash, used for the keys of the literal and statement indexes, the key table and the
+ *  qualified name filter. The hashes are persisted, so the results must never change.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+final class Fnv64 {
+
+    static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    // ----------------------------------------------------
+
+    private Fnv64() {
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @param str The string.
+     * @return The hash of the string's chars.
+     */
+    static long hash(String str) {
+        return hash(OFFSET_BASIS, str);
+    }
+
+    /**
+     * Continue a hash with the chars of a string.
+     * @param hash The hash so far.
+     * @param str The string.
+     * @return The new hash.
+     */
+    static long hash(long hash, String str) {
+        for (int i = 0; i < str.length(); i++) {
+            hash ^= str.charAt(i);
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @param bytes The bytes.
+     * @return The hash of the bytes.
+     */
+    static long hash(byte[] bytes) {
+        long hash = OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Continue a hash with a separator, which is not a char, so that e.g. "ab" + "c" and "a" + "bc" differ.
+     * @param hash The hash so far.
+     * @return The new hash.
+     */
+    static long separate(long hash) {
+        return (hash ^ 0xFFFF) * PRIME;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ *  Locks of the keys currently in use. A lock is created when a key is locked and removed again when it is
+ *  released, so operations on different keys never contend, however long the locks are held.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+class InFlightLocks {
+
+    private final ConcurrentMap<Object, KeyLock> locks = new ConcurrentHashMap<Object, KeyLock>();
+
+    // ----------------------------------------------------
+
+    /**
+     * Lock a key. The lock is reentrant and is removed when it is released by its last unlock().
+     * @param key The key.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return The held lock or null if it could not be acquired within the timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    KeyLock lock(Object key, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            final KeyLock created = new KeyLock(key);
+            created.lock();
+            final KeyLock existing = locks.putIfAbsent(key, created);
+            if (existing == null) {
+                return created;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !existing.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+            if (locks.get(key) == existing) {
+                return existing;
+            }
+            // Released and removed by its previous owner while we were waiting.
+            existing.unlock();
+        }
+    }
+
+    /**
+     * @return The number of keys currently locked.
+     */
+    int size() {
+        return locks.size();
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Lock of one key, removing itself from the locks when released by its last hold.
+     */
+    final class KeyLock extends ReentrantLock {
+
+        private final Object key;
+
+        private KeyLock(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void unlock() {
+            if (isHeldByCurrentThread() && getHoldCount() == 1) {
+                locks.remove(key, this);
+            }
+            super.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.spi.impl.LuceneBasedNodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+import org.neo4j.tooling.GlobalGraphOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * <p>
+ *  Migrates the key table of a store from the Lucene based key table to the {@link MappedNodeKeyTable}.
+ *  The Lucene table can't be enumerated, so the qualified names are taken from the URI property of the
+ *  nodes; each one is migrated with the node ID the Lucene table holds for it.
+ * </p>
+ *
+ * <p>
+ *  Usage: <code>KeyTableMigration &lt;store directory&gt;</code>. The store must not be opened
+ *  by any other process during the migration. Afterwards the store can be opened with profile property
+ *  {@link NeoStoreConfiguration#KEY_TABLE} set to <code>mapped</code>.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class KeyTableMigration implements NeoConstants {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyTableMigration.class);
+
+    private static final int LOG_INTERVAL = 100000;
+
+    private final GraphDatabaseService gdbService;
+
+    private final NodeKeyTable<NumericPhysicalNodeID> source;
+
+    private final NodeKeyTable<NumericPhysicalNodeID> target;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param gdbService The graph database of the store.
+     * @param source The Lucene based key table.
+     * @param target The new key table.
+     */
+    public KeyTableMigration(GraphDatabaseService gdbService, NodeKeyTable<NumericPhysicalNodeID> source,
+                             NodeKeyTable<NumericPhysicalNodeID> target) {
+        this.gdbService = gdbService;
+        this.source = source;
+        this.target = target;
+    }
+
+    // ----------------------------------------------------
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: KeyTableMigration <store directory>");
+            System.exit(1);
+        }
+        final String dir = args[0];
+        if (new File(dir, MappedNodeKeyTable.LOG_FILE).exists()) {
+            System.err.println("Store " + dir + " already contains a mapped key table.");
+            System.exit(1);
+        }
+        final GraphDatabaseService gdb = new EmbeddedGraphDatabase(dir);
+        QualifiedNameFilter.invalidate(dir);
+        final NodeKeyTable<NumericPhysicalNodeID> source = LuceneBasedNodeKeyTable.forNumericIDs(dir);
+        final MappedNodeKeyTable target = new MappedNodeKeyTable(dir);
+        try {
+            final int migrated = new KeyTableMigration(gdb, source, target).migrate();
+            System.out.println("Migrated " + migrated + " key table entries.");
+        } finally {
+            target.shutdown();
+            source.shutdown();
+            gdb.shutdown();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Migrate the entries of all nodes with a qualified name.
+     * @return The number of migrated entries.
+     */
+    public int migrate() {
+        int migrated = 0;
+        int missing = 0;
+        int duplicates = 0;
+        for (Node node : GlobalGraphOperations.at(gdbService).getAllNodes()) {
+            final Object uri = node.getProperty(PROPERTY_URI, null);
+            if (uri == null) {
+                continue;
+            }
+            final QualifiedName qn = QualifiedName.create(uri.toString());
+            final NumericPhysicalNodeID id = source.lookup(qn);
+            if (id == null) {
+                LOGGER.warn("Node {} with qualified name {} is not contained in the key table.", node.getId(), qn);
+                missing++;
+            } else if (id.asLong() == node.getId()) {
+                target.put(qn, id);
+                if (++migrated % LOG_INTERVAL == 0) {
+                    LOGGER.info("Migrated {} key table entries.", migrated);
+                }
+            } else {
+                // Another node with the same name, e.g. a duplicate created concurrently. Not reachable by its name.
+                LOGGER.warn("Node {} with qualified name {} is skipped, the key table refers to node {}.",
+                        new Object[] { node.getId(), qn, id.asLong() });
+                duplicates++;
+            }
+        }
+        LOGGER.info("Migrated {} key table entries, {} nodes were not contained, {} nodes were skipped as the "
+                + "key table refers to another node.", new Object[] { migrated, missing, duplicates });
+        return migrated;
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.model.ElementaryDataType;
+import org.arastreju.sge.model.nodes.SNValue;
+import org.arastreju.sge.model.nodes.ValueNode;
+import org.neo4j.graphdb.PropertyContainer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *  Writes and reads literals to and from the properties of value nodes or inline value relationships.
+ * </p>
+ *
+ * <p>
+ *  The string layout stores the string value, the datatype's name and the locale's name.
+ *  The typed layout stores numbers, booleans and dates as native Neo4j primitives, the datatype as
+ *  byte code and the locale as ID in the {@link UriDictionary}. Values that can't be represented
+ *  exactly by a primitive are stored as string in both layouts. Both layouts can be read regardless
+ *  of the configuration.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class LiteralCodec implements NeoConstants {
+
+    /**
+     * Stable codes of the datatypes, the index being the code. Independent of the order of {@link ElementaryDataType},
+     * new datatypes are appended and codes are never reused. Datatypes without code are stored by name.
+     */
+    private static final String[] DATATYPE_CODES = {
+            "UNDEFINED", "BOOLEAN", "INTEGER", "DECIMAL", "STRING", "TERM", "TEXT", "DATE", "TIME_OF_DAY",
+            "TIMESTAMP", "URI", "PROPER_NAME", "RESOURCE"
+    };
+
+    private static final ElementaryDataType[] DATATYPES_BY_CODE = new ElementaryDataType[DATATYPE_CODES.length];
+
+    private static final Map<ElementaryDataType, Byte> CODES_BY_DATATYPE = new EnumMap<ElementaryDataType, Byte>(ElementaryDataType.class);
+
+    private static final Map<String, ElementaryDataType> DATATYPES_BY_NAME = new HashMap<String, ElementaryDataType>();
+
+    static {
+        for (ElementaryDataType datatype : ElementaryDataType.values()) {
+            DATATYPES_BY_NAME.put(datatype.name(), datatype);
+        }
+        for (int code = 0; code < DATATYPE_CODES.length; code++) {
+            final ElementaryDataType datatype = DATATYPES_BY_NAME.get(DATATYPE_CODES[code]);
+            if (datatype != null) {
+                DATATYPES_BY_CODE[code] = datatype;
+                CODES_BY_DATATYPE.put(datatype, (byte) code);
+            }
+        }
+    }
+
+    /**
+     * Canonical locale instances, shared by all stores. Bounded, as the locale names come from the data.
+     */
+    private static final ConcurrentMap<String, Locale> LOCALES = new ConcurrentHashMap<String, Locale>();
+
+    private static final int MAX_CACHED_LOCALES = 1000;
+
+    private static final byte VALUE_LONG = 1;
+
+    private static final byte VALUE_BIG_INTEGER = 2;
+
+    private static final byte VALUE_DOUBLE = 3;
+
+    private static final byte VALUE_BIG_DECIMAL = 4;
+
+    private static final byte VALUE_BOOLEAN = 5;
+
+    private static final byte VALUE_DATE = 6;
+
+    private static final byte VALUE_FLOAT = 7;
+
+    // ----------------------------------------------------
+
+    private final UriDictionary dictionary;
+
+    private final boolean typed;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param dictionary The store's dictionary, used for locale IDs.
+     * @param typed Flag indicating if new literals shall be written in the typed layout.
+     */
+    public LiteralCodec(UriDictionary dictionary, boolean typed) {
+        this.dictionary = dictionary;
+        this.typed = typed;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Write datatype, value and locale of a literal into a node or relationship.
+     * @param container The node or relationship.
+     * @param value The value.
+     */
+    public void encode(PropertyContainer container, ValueNode value) {
+        for (Map.Entry<String, Object> property : encode(value).entrySet()) {
+            container.setProperty(property.getKey(), property.getValue());
+        }
+    }
+
+    /**
+     * Get the properties representing datatype, value and locale of a literal, e.g. for a batch inserter.
+     * @param value The value.
+     * @return The properties.
+     */
+    public Map<String, Object> encode(ValueNode value) {
+        final Map<String, Object> properties = new HashMap<String, Object>(4);
+        if (typed) {
+            encodeTyped(properties, value);
+        } else {
+            properties.put(PROPERTY_DATATYPE, value.getDataType().name());
+            properties.put(PROPERTY_VALUE, value.getStringValue());
+            final String localeName = toLocaleName(value.getLocale());
+            if (localeName != null) {
+                properties.put(PROPERTY_LOCALE, localeName);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Read a literal from a node or relationship.
+     * @param container The node or relationship.
+     * @return The value node.
+     */
+    public ValueNode decode(PropertyContainer container) {
+        return new SNValue(getDatatype(container), getValue(container), getLocale(container));
+    }
+
+    /**
+     * @param container The node or relationship.
+     * @return The string representation of the literal stored in the container, null if there is none.
+     */
+    public String getStringValue(PropertyContainer container) {
+        final Object value = container.getProperty(PROPERTY_VALUE, null);
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        return decode(container).getStringValue();
+    }
+
+    /**
+     * @param container The node or relationship.
+     * @return The datatype of the literal.
+     */
+    public ElementaryDataType getDatatype(PropertyContainer container) {
+        final Object code = container.getProperty(PROPERTY_DATATYPE_CODE, null);
+        if (code != null) {
+            final byte index = (Byte) code;
+            if (index < 0 || index >= DATATYPES_BY_CODE.length || DATATYPES_BY_CODE[index] == null) {
+                throw new IllegalArgumentException("Unknown datatype code: " + index);
+            }
+            return DATATYPES_BY_CODE[index];
+        }
+        final String datatypeName = (String) container.getProperty(PROPERTY_DATATYPE);
+        final ElementaryDataType datatype = DATATYPES_BY_NAME.get(datatypeName);
+        if (datatype == null) {
+            throw new IllegalArgumentException("Unknown datatype: " + datatypeName);
+        }
+        return datatype;
+    }
+
+    /**
+     * @param container The node or relationship.
+     * @return The locale of the literal or null.
+     */
+    public Locale getLocale(PropertyContainer container) {
+        final Object localeID = container.getProperty(PROPERTY_LOCALE_ID, null);
+        if (localeID != null) {
+            return toLocale(dictionary.getURI((Integer) localeID));
+        }
+        if (!container.hasProperty(PROPERTY_LOCALE)) {
+            return null;
+        }
+        return toLocale((String) container.getProperty(PROPERTY_LOCALE));
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Converts a locale into the string representation stored in value nodes.
+     * @param locale The locale, may be null.
+     * @return The locale name or null.
+     */
+    public static String toLocaleName(Locale locale) {
+        if (locale == null || locale.getLanguage() == null) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(5);
+        sb.append(locale.getLanguage());
+        if (locale.getCountry() != null) {
+            sb.append("_").append(locale.getCountry());
+        }
+        return sb.toString();
+    }
+
+    // ----------------------------------------------------
+
+    private void encodeTyped(Map<String, Object> properties, ValueNode value) {
+        final Byte code = CODES_BY_DATATYPE.get(value.getDataType());
+        if (code != null) {
+            properties.put(PROPERTY_DATATYPE_CODE, code);
+        } else {
+            properties.put(PROPERTY_DATATYPE, value.getDataType().name());
+        }
+        final Object raw = value.getValue();
+        if (raw instanceof Long || raw instanceof Integer || raw instanceof Short || raw instanceof Byte) {
+            setValue(properties, ((Number) raw).longValue(), VALUE_LONG);
+        } else if (raw instanceof BigInteger && ((BigInteger) raw).bitLength() < 64) {
+            setValue(properties, ((BigInteger) raw).longValue(), VALUE_BIG_INTEGER);
+        } else if (raw instanceof Double) {
+            setValue(properties, raw, VALUE_DOUBLE);
+        } else if (raw instanceof Float) {
+            setValue(properties, raw, VALUE_FLOAT);
+        } else if (raw instanceof BigDecimal && isExactDouble((BigDecimal) raw)) {
+            setValue(properties, ((BigDecimal) raw).doubleValue(), VALUE_BIG_DECIMAL);
+        } else if (raw instanceof Boolean) {
+            setValue(properties, raw, VALUE_BOOLEAN);
+        } else if (raw instanceof Date) {
+            setValue(properties, ((Date) raw).getTime(), VALUE_DATE);
+        } else {
+            properties.put(PROPERTY_VALUE, value.getStringValue());
+        }
+        final String localeName = toLocaleName(value.getLocale());
+        if (localeName != null) {
+            properties.put(PROPERTY_LOCALE_ID, dictionary.getOrCreate(localeName));
+        }
+    }
+
+    private void setValue(Map<String, Object> properties, Object value, byte valueType) {
+        properties.put(PROPERTY_VALUE, value);
+        properties.put(PROPERTY_VALUE_TYPE, valueType);
+    }
+
+    private Object getValue(PropertyContainer container) {
+        final Object value = container.getProperty(PROPERTY_VALUE);
+        final Object valueType = container.getProperty(PROPERTY_VALUE_TYPE, null);
+        if (valueType == null) {
+            return value;
+        }
+        switch ((Byte) valueType) {
+            case VALUE_BIG_INTEGER:
+                return BigInteger.valueOf((Long) value);
+            case VALUE_BIG_DECIMAL:
+                return BigDecimal.valueOf((Double) value);
+            case VALUE_DATE:
+                return new Date((Long) value);
+            default:
+                return value;
+        }
+    }
+
+    private boolean isExactDouble(BigDecimal decimal) {
+        final double d = decimal.doubleValue();
+        // equals() instead of compareTo(), the scale has to be preserved, too.
+        return !Double.isInfinite(d) && BigDecimal.valueOf(d).equals(decimal);
+    }
+
+    private Locale toLocale(String localeName) {
+        final Locale cached = LOCALES.get(localeName);
+        if (cached != null) {
+            return cached;
+        }
+        final Locale locale = parseLocale(localeName);
+        if (LOCALES.size() < MAX_CACHED_LOCALES) {
+            LOCALES.putIfAbsent(localeName, locale);
+        }
+        return locale;
+    }
+
+    private Locale parseLocale(String localeName) {
+        String language = localeName.substring(0, 2);
+        if (localeName.length() >= 5 ) {
+            String country = localeName.substring(3, 5);
+            return new Locale(language, country);
+        } else {
+            return new Locale(language);
+        }
+    }
+
+}
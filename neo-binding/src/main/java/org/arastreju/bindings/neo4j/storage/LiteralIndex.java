@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.model.nodes.ValueNode;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+
+import java.util.Locale;
+
+/**
+ * <p>
+ *  Manages the value nodes of literals. With interning enabled there is only one value node per
+ *  combination of datatype, value and locale, found by a hash in a Neo4j node index and shared by
+ *  all statements with this literal. Shared value nodes are reference counted and deleted when the
+ *  last statement pointing to them is removed.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class LiteralIndex implements NeoConstants {
+
+    public static final String INDEX_NAME = "aras-literals";
+
+    private static final String KEY = "literal";
+
+    private static final String COLLISION_KEY = "literal-collision";
+
+    private final GraphDatabaseService gdbService;
+
+    private final LiteralCodec codec;
+
+    private volatile Index<Node> index;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param gdbService The graph database service.
+     * @param codec The codec for literals.
+     */
+    public LiteralIndex(GraphDatabaseService gdbService, LiteralCodec codec) {
+        this.gdbService = gdbService;
+        this.codec = codec;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Create a new, not shared value node.
+     * @param value The value.
+     * @return The new neo node.
+     */
+    public Node create(ValueNode value) {
+        final Node node = gdbService.createNode();
+        codec.encode(node, value);
+        return node;
+    }
+
+    /**
+     * Get the shared value node for given value, creating it if not yet existing. The node's
+     * reference count is incremented.
+     * @param value The value.
+     * @return The shared neo node.
+     */
+    public Node getOrCreate(ValueNode value) {
+        final String key = key(value.getDataType().name(), value.getStringValue(), LiteralCodec.toLocaleName(value.getLocale()));
+        Node created = null;
+        while (true) {
+            final Node found = find(key, value);
+            if (found != null && reference(found)) {
+                if (created != null) {
+                    created.delete();
+                }
+                return found;
+            }
+            if (created == null) {
+                created = create(value);
+                created.setProperty(PROPERTY_REF_COUNT, 1);
+            }
+            // Locks the key until commit, a concurrent transaction interning the same literal gets the node created first.
+            final Node existing = getIndex().putIfAbsent(created, KEY, key);
+            if (existing == null) {
+                return created;
+            }
+            if (!matches(existing, value)) {
+                // Hash collision with another literal. The literal itself is locked as collision key.
+                final Node twin = getIndex().putIfAbsent(created, COLLISION_KEY, collisionKey(value));
+                if (twin == null) {
+                    getIndex().add(created, KEY, key);
+                    return created;
+                }
+                if (reference(twin)) {
+                    created.delete();
+                    return twin;
+                }
+            } else if (reference(existing)) {
+                created.delete();
+                return existing;
+            }
+            // The node found has been deleted concurrently, its index entries are gone after that transaction's commit.
+        }
+    }
+
+    /**
+     * Release a value node after a relationship pointing to it has been deleted. Shared nodes are
+     * deleted when their reference count drops to zero, not shared nodes when they have no more relationships.
+     * @param node The value node.
+     */
+    public void release(Node node) {
+        if (node.hasProperty(PROPERTY_REF_COUNT)) {
+            lock(node);
+            final int refCount = getRefCount(node) - 1;
+            if (refCount > 0) {
+                node.setProperty(PROPERTY_REF_COUNT, refCount);
+                return;
+            }
+            getIndex().remove(node);
+        }
+        if (!node.hasRelationship()) {
+            node.delete();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private Node find(String key, ValueNode value) {
+        final IndexHits<Node> hits = getIndex().get(KEY, key);
+        try {
+            for (Node candidate : hits) {
+                if (matches(candidate, value)) {
+                    return candidate;
+                }
+            }
+            return null;
+        } finally {
+            hits.close();
+        }
+    }
+
+    /**
+     * Increment the reference count of a shared node, after re-checking under its lock that it has not
+     * been deleted by a concurrent transaction releasing it.
+     * @return false if the node has been deleted.
+     */
+    private boolean reference(Node node) {
+        try {
+            lock(node);
+            final int refCount = getRefCount(node);
+            if (refCount <= 0) {
+                return false;
+            }
+            node.setProperty(PROPERTY_REF_COUNT, refCount + 1);
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private boolean matches(Node node, ValueNode value) {
+        final Locale locale = codec.getLocale(node);
+        return value.getDataType() == codec.getDatatype(node)
+                && value.getStringValue().equals(codec.getStringValue(node))
+                && (value.getLocale() == null ? locale == null : value.getLocale().equals(locale));
+    }
+
+    private int getRefCount(Node node) {
+        return (Integer) node.getProperty(PROPERTY_REF_COUNT, 0);
+    }
+
+    /**
+     * Grab the node's write lock until the current transaction finishes, so that concurrent updates of the
+     * reference count are serialized.
+     */
+    private void lock(Node node) {
+        // Nested in the running transaction, the lock is held by the top level transaction.
+        final Transaction tx = gdbService.beginTx();
+        try {
+            tx.acquireWriteLock(node);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+    }
+
+    private Index<Node> getIndex() {
+        if (index == null) {
+            index = gdbService.index().forNodes(INDEX_NAME);
+        }
+        return index;
+    }
+
+    private static String collisionKey(ValueNode value) {
+        final String localeName = LiteralCodec.toLocaleName(value.getLocale());
+        return value.getDataType().name() + '\u0000' + value.getStringValue() + '\u0000' + (localeName != null ? localeName : "");
+    }
+
+    private static String key(String datatype, String value, String localeName) {
+        long hash = Fnv64.separate(Fnv64.hash(datatype));
+        hash = Fnv64.separate(Fnv64.hash(hash, value));
+        if (localeName != null) {
+            hash = Fnv64.separate(Fnv64.hash(hash, localeName));
+        }
+        return Long.toHexString(hash);
+    }
+
+}
@@ -0,0 +1,749 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ *  Key table mapping qualified names to node IDs in two memory mapped files, as alternative to the
+ *  Lucene based key table. Nothing but the mapped pages is held in the heap.
+ * </p>
+ *
+ * <p>
+ *  The log file <code>key-table.log</code> is the source of truth: each put or remove is appended as record
+ *  of URI, node ID and checksum. The index file <code>key-table.idx</code> is an open addressing hash table
+ *  with linear probing, mapping the 64 bit FNV-1a hash of a URI's bytes to the node ID and the offset of
+ *  the URI in the log, by which a hash match is verified. The index is marked clean on shutdown only;
+ *  after a crash it is rebuilt from the log, which is read up to the last complete record. Both files are
+ *  mapped in segments, so they may exceed 2 GB. When the log has to grow or has been replayed and consists
+ *  mostly of overwritten and removed entries, it is compacted into a new log of the live entries.
+ * </p>
+ *
+ * <p>
+ *  Durability: changes are written to the mapped pages, which survive a crash of the JVM, but not necessarily
+ *  a crash of the operating system or a power failure. The log is forced to disk when it grows or is compacted,
+ *  on shutdown and on {@link #force()}. The store calls {@link #force()} before each commit that changed the
+ *  key table, unless disabled by {@link NeoStoreConfiguration#KEY_TABLE_FORCE}. Without, entries not yet forced
+ *  may be lost by such a crash, while the nodes they refer to have been committed.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class MappedNodeKeyTable implements NodeKeyTable<NumericPhysicalNodeID> {
+
+    public static final String LOG_FILE = "key-table.log";
+
+    public static final String INDEX_FILE = "key-table.idx";
+
+    public static final String COMPACTION_FILE = "key-table.log.compact";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedNodeKeyTable.class);
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int MAGIC = 0x41524B54;
+
+    private static final int LOG_VERSION = 1;
+
+    private static final int INDEX_VERSION = 2;
+
+    private static final byte OP_PUT = 1;
+
+    private static final byte OP_REMOVE = 2;
+
+    private static final long NONE = -1;
+
+    /**
+     * Files are mapped in segments of 1 GB.
+     */
+    private static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    // log: header of magic and version, records of [int length][byte op][long id][bytes uri][int crc]
+    private static final int LOG_HEADER = 8;
+
+    private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 4;
+
+    private static final int INITIAL_LOG_SIZE = 1 << 20;
+
+    /**
+     * The log is compacted if it holds at least this many records and less than half of them are live.
+     */
+    private static final long MIN_COMPACTION_RECORDS = 1024;
+
+    // index: header of [int magic][int version][int capacity][int used][int live][int clean][long log end]
+    // [long log records], slots of [long hash][long id][long log offset of URI]
+    private static final int INDEX_HEADER = 40;
+
+    private static final int SLOT_SIZE = 24;
+
+    private static final int INITIAL_CAPACITY = 1 << 14;
+
+    private static final float MAX_LOAD = 0.7f;
+
+    // ----------------------------------------------------
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final File dir;
+
+    private final int segmentShift;
+
+    private RandomAccessFile logFile;
+
+    private final RandomAccessFile indexFile;
+
+    private MappedRegion log;
+
+    private MappedRegion index;
+
+    private long logEnd;
+
+    private long logRecords;
+
+    private int capacity;
+
+    private int used;
+
+    private int live;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Opens or creates the key table files in given directory.
+     * @param dir The store directory.
+     * @throws IOException If the files can't be opened.
+     */
+    public MappedNodeKeyTable(String dir) throws IOException {
+        this(dir, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Constructor. Opens or creates the key table files in given directory.
+     * @param dir The store directory.
+     * @param segmentShift The size of the mapped segments as power of two, between 12 and 30.
+     * @throws IOException If the files can't be opened.
+     */
+    public MappedNodeKeyTable(String dir, int segmentShift) throws IOException {
+        if (segmentShift < 12 || segmentShift > 30) {
+            throw new IllegalArgumentException("Invalid segment shift: " + segmentShift);
+        }
+        this.dir = new File(dir);
+        this.segmentShift = segmentShift;
+        this.dir.mkdirs();
+        this.indexFile = new RandomAccessFile(new File(dir, INDEX_FILE), "rw");
+        openLog();
+        openIndex();
+    }
+
+    // -- NodeKeyTable ------------------------------------
+
+    @Override
+    public NumericPhysicalNodeID lookup(QualifiedName qn) {
+        final byte[] uri = encode(qn);
+        lock.readLock().lock();
+        try {
+            final int slot = find(hash(uri), uri);
+            if (slot < 0) {
+                return null;
+            }
+            final long id = index.getLong(slotOffset(slot) + 8);
+            return id != NONE ? new NumericPhysicalNodeID(id) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(QualifiedName qn, NumericPhysicalNodeID id) {
+        final byte[] uri = encode(qn);
+        lock.writeLock().lock();
+        try {
+            final long uriOffset = append(OP_PUT, id.asLong(), uri);
+            insert(hash(uri), uri, id.asLong(), uriOffset);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write key table entry for " + qn, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(QualifiedName qn) {
+        final byte[] uri = encode(qn);
+        lock.writeLock().lock();
+        try {
+            final int existing = find(hash(uri), uri);
+            if (existing >= 0 && index.getLong(slotOffset(existing) + 8) != NONE) {
+                append(OP_REMOVE, NONE, uri);
+                // Looked up again, the append may have compacted the log and rebuilt the index.
+                final int slot = find(hash(uri), uri);
+                index.putLong(slotOffset(slot) + 8, NONE);
+                live--;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not remove key table entry for " + qn, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.force();
+            writeIndexHeader(true);
+            index.force();
+            logFile.close();
+            indexFile.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write all changes of the log to disk.
+     */
+    public void force() {
+        lock.writeLock().lock();
+        try {
+            log.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // -- log ---------------------------------------------
+
+    private void openLog() throws IOException {
+        final File compaction = new File(dir, COMPACTION_FILE);
+        if (compaction.exists()) {
+            // The new log replaces the old one only when complete, a leftover is from an interrupted compaction.
+            LOGGER.warn("Discarding incomplete compaction of key table log.");
+            compaction.delete();
+        }
+        logFile = new RandomAccessFile(new File(dir, LOG_FILE), "rw");
+        final boolean isNew = logFile.length() == 0;
+        log = new MappedRegion(logFile.getChannel(), Math.max(INITIAL_LOG_SIZE, logFile.length()), segmentShift);
+        if (isNew) {
+            log.putInt(0, MAGIC);
+            log.putInt(4, LOG_VERSION);
+        } else if (log.getInt(0) != MAGIC) {
+            throw new IOException("Not a key table log: " + LOG_FILE);
+        }
+    }
+
+    /**
+     * Append a record to the log.
+     * @return The offset of the URI bytes in the log.
+     */
+    private long append(byte op, long id, byte[] uri) throws IOException {
+        final long recordSize = RECORD_OVERHEAD + uri.length;
+        ensureLogCapacity(recordSize + 4);
+        final long pos = logEnd;
+        log.put(pos + 4, op);
+        log.putLong(pos + 5, id);
+        for (int i = 0; i < uri.length; i++) {
+            log.put(pos + 13 + i, uri[i]);
+        }
+        log.putInt(pos + 13 + uri.length, checksum(op, id, uri));
+        // The length is written last: a record is only valid after it is complete.
+        log.putInt(pos, uri.length);
+        logEnd += recordSize;
+        logRecords++;
+        return pos + 13;
+    }
+
+    /**
+     * Make room for given number of bytes at the end of the log, by compaction or by growing the log.
+     */
+    private void ensureLogCapacity(long bytes) throws IOException {
+        if (logEnd + bytes <= log.size()) {
+            return;
+        }
+        if (isWasteful()) {
+            compact();
+        }
+        if (logEnd + bytes > log.size()) {
+            long newSize = log.size();
+            while (newSize < logEnd + bytes) {
+                newSize *= 2;
+            }
+            log.resize(newSize);
+        }
+    }
+
+    /**
+     * Read the log up to the last complete record and rebuild the index from it.
+     */
+    private void replay() {
+        long pos = LOG_HEADER;
+        long records = 0;
+        final long limit = log.size();
+        while (pos + RECORD_OVERHEAD <= limit) {
+            final int length = log.getInt(pos);
+            if (length <= 0 || pos + RECORD_OVERHEAD + length > limit) {
+                break;
+            }
+            final byte op = log.get(pos + 4);
+            final long id = log.getLong(pos + 5);
+            final byte[] uri = readBytes(pos + 13, length);
+            if (log.getInt(pos + 13 + length) != checksum(op, id, uri)) {
+                LOGGER.warn("Key table log is truncated after {} records, the last one is incomplete.", records);
+                break;
+            }
+            if (op == OP_PUT) {
+                insert(hash(uri), uri, id, pos + 13);
+            } else {
+                final int slot = find(hash(uri), uri);
+                if (slot >= 0 && index.getLong(slotOffset(slot) + 8) != NONE) {
+                    index.putLong(slotOffset(slot) + 8, NONE);
+                    live--;
+                }
+            }
+            pos += RECORD_OVERHEAD + length;
+            records++;
+        }
+        logEnd = pos;
+        logRecords = records;
+        // Clear the remains of an incomplete record.
+        for (long i = pos; i < Math.min(pos + RECORD_OVERHEAD, limit); i++) {
+            log.put(i, (byte) 0);
+        }
+        LOGGER.info("Rebuilt key table index from {} log records.", records);
+    }
+
+    private boolean isWasteful() {
+        return logRecords >= MIN_COMPACTION_RECORDS && logRecords > 2L * live;
+    }
+
+    /**
+     * Write the live entries into a new log, which replaces the current one when complete, and rebuild
+     * the index for the new log. The index is dirty while the store is open, so a crash in between
+     * rebuilds it from whichever log is in place.
+     */
+    private void compact() throws IOException {
+        final long[] hashes = new long[live];
+        final long[] ids = new long[live];
+        final long[] uriOffsets = new long[live];
+        final int n = collectLiveSlots(hashes, ids, uriOffsets);
+        long liveBytes = LOG_HEADER;
+        for (int i = 0; i < n; i++) {
+            liveBytes += RECORD_OVERHEAD + log.getInt(uriOffsets[i] - 13);
+        }
+        long size = INITIAL_LOG_SIZE;
+        while (size < 2 * liveBytes) {
+            size *= 2;
+        }
+
+        final File compaction = new File(dir, COMPACTION_FILE);
+        final RandomAccessFile newFile = new RandomAccessFile(compaction, "rw");
+        final MappedRegion newLog;
+        long pos = LOG_HEADER;
+        try {
+            newFile.setLength(0);
+            newLog = new MappedRegion(newFile.getChannel(), size, segmentShift);
+            newLog.putInt(0, MAGIC);
+            newLog.putInt(4, LOG_VERSION);
+            for (int i = 0; i < n; i++) {
+                final byte[] uri = readBytes(uriOffsets[i], log.getInt(uriOffsets[i] - 13));
+                newLog.put(pos + 4, OP_PUT);
+                newLog.putLong(pos + 5, ids[i]);
+                for (int j = 0; j < uri.length; j++) {
+                    newLog.put(pos + 13 + j, uri[j]);
+                }
+                newLog.putInt(pos + 13 + uri.length, checksum(OP_PUT, ids[i], uri));
+                newLog.putInt(pos, uri.length);
+                uriOffsets[i] = pos + 13;
+                pos += RECORD_OVERHEAD + uri.length;
+            }
+            newLog.force();
+        } catch (IOException e) {
+            newFile.close();
+            compaction.delete();
+            throw e;
+        }
+        if (!compaction.renameTo(new File(dir, LOG_FILE))) {
+            newFile.close();
+            compaction.delete();
+            throw new IOException("Could not replace key table log by its compaction.");
+        }
+        logFile.close();
+        logFile = newFile;
+        log = newLog;
+        LOGGER.info("Compacted key table log from {} to {} records.", logRecords, n);
+        logEnd = pos;
+        logRecords = n;
+        // Removed entries still occupying slots refer to the old log, so the index is rebuilt without them.
+        rehash(hashes, ids, uriOffsets, n);
+    }
+
+    private byte[] readBytes(long pos, int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = log.get(pos + i);
+        }
+        return bytes;
+    }
+
+    // -- index -------------------------------------------
+
+    private void openIndex() throws IOException {
+        if (indexFile.length() >= INDEX_HEADER) {
+            indexFile.seek(0);
+            final int magic = indexFile.readInt();
+            final int version = indexFile.readInt();
+            final int storedCapacity = indexFile.readInt();
+            final int storedUsed = indexFile.readInt();
+            final int storedLive = indexFile.readInt();
+            final int clean = indexFile.readInt();
+            if (magic == MAGIC && version == INDEX_VERSION && clean == 1) {
+                capacity = storedCapacity;
+                used = storedUsed;
+                live = storedLive;
+                logEnd = indexFile.readLong();
+                logRecords = indexFile.readLong();
+                index = mapIndex(capacity);
+                writeIndexHeader(false);
+                index.force();
+                return;
+            }
+        }
+        // New table, older version or not shut down cleanly.
+        capacity = INITIAL_CAPACITY;
+        index = mapIndex(capacity);
+        clearSlots();
+        replay();
+        if (isWasteful()) {
+            compact();
+        }
+        writeIndexHeader(false);
+        index.force();
+    }
+
+    private MappedRegion mapIndex(int capacity) throws IOException {
+        return new MappedRegion(indexFile.getChannel(), INDEX_HEADER + (long) capacity * SLOT_SIZE, segmentShift);
+    }
+
+    private void writeIndexHeader(boolean clean) {
+        index.putInt(0, MAGIC);
+        index.putInt(4, INDEX_VERSION);
+        index.putInt(8, capacity);
+        index.putInt(12, used);
+        index.putInt(16, live);
+        index.putInt(20, clean ? 1 : 0);
+        index.putLong(24, logEnd);
+        index.putLong(32, logRecords);
+    }
+
+    private void clearSlots() {
+        for (int slot = 0; slot < capacity; slot++) {
+            index.putLong(slotOffset(slot), 0);
+        }
+        used = 0;
+        live = 0;
+    }
+
+    /**
+     * Find the slot of a URI.
+     * @return The slot or -1 if not contained.
+     */
+    private int find(long hash, byte[] uri) {
+        int slot = (int) (hash & (capacity - 1));
+        while (true) {
+            final long slotHash = index.getLong(slotOffset(slot));
+            if (slotHash == 0) {
+                return -1;
+            }
+            if (slotHash == hash && matches(slot, uri)) {
+                return slot;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    private void insert(long hash, byte[] uri, long id, long uriOffset) {
+        int slot = find(hash, uri);
+        if (slot >= 0) {
+            if (index.getLong(slotOffset(slot) + 8) == NONE) {
+                live++;
+            }
+        } else {
+            if ((used + 1) > capacity * MAX_LOAD) {
+                grow();
+            }
+            slot = (int) (hash & (capacity - 1));
+            while (index.getLong(slotOffset(slot)) != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            used++;
+            live++;
+        }
+        final long offset = slotOffset(slot);
+        index.putLong(offset, hash);
+        index.putLong(offset + 8, id);
+        index.putLong(offset + 16, uriOffset);
+    }
+
+    /**
+     * Double the capacity of the index and re-insert all live entries.
+     */
+    private void grow() {
+        final long[] hashes = new long[live];
+        final long[] ids = new long[live];
+        final long[] offsets = new long[live];
+        final int n = collectLiveSlots(hashes, ids, offsets);
+        try {
+            capacity *= 2;
+            index = mapIndex(capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow key table index.", e);
+        }
+        rehash(hashes, ids, offsets, n);
+    }
+
+    /**
+     * Copy hash, node ID and URI offset of all live entries into given arrays.
+     * @return The number of live entries.
+     */
+    private int collectLiveSlots(long[] hashes, long[] ids, long[] offsets) {
+        int n = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            final long offset = slotOffset(slot);
+            if (index.getLong(offset) != 0 && index.getLong(offset + 8) != NONE) {
+                hashes[n] = index.getLong(offset);
+                ids[n] = index.getLong(offset + 8);
+                offsets[n] = index.getLong(offset + 16);
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Clear the index and insert given entries.
+     */
+    private void rehash(long[] hashes, long[] ids, long[] offsets, int n) {
+        clearSlots();
+        for (int i = 0; i < n; i++) {
+            int slot = (int) (hashes[i] & (capacity - 1));
+            while (index.getLong(slotOffset(slot)) != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            final long offset = slotOffset(slot);
+            index.putLong(offset, hashes[i]);
+            index.putLong(offset + 8, ids[i]);
+            index.putLong(offset + 16, offsets[i]);
+        }
+        used = n;
+        live = n;
+        writeIndexHeader(false);
+    }
+
+    private boolean matches(int slot, byte[] uri) {
+        final long uriOffset = index.getLong(slotOffset(slot) + 16);
+        if (log.getInt(uriOffset - 13) != uri.length) {
+            return false;
+        }
+        for (int i = 0; i < uri.length; i++) {
+            if (log.get(uriOffset + i) != uri[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long slotOffset(int slot) {
+        return INDEX_HEADER + (long) slot * SLOT_SIZE;
+    }
+
+    // ----------------------------------------------------
+
+    private static byte[] encode(QualifiedName qn) {
+        return qn.toURI().getBytes(UTF8);
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the URI bytes, never 0, which marks empty slots.
+     */
+    private static long hash(byte[] uri) {
+        final long hash = Fnv64.hash(uri);
+        return hash != 0 ? hash : 1;
+    }
+
+    private static int checksum(byte op, long id, byte[] uri) {
+        final CRC32 crc = new CRC32();
+        crc.update(op);
+        for (int i = 56; i >= 0; i -= 8) {
+            crc.update((int) (id >>> i));
+        }
+        crc.update(uri);
+        return (int) crc.getValue();
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * File mapped in segments, so that it may exceed the 2 GB limit of a single mapping.
+     * Values spanning two segments are read and written byte by byte.
+     */
+    private static class MappedRegion {
+
+        private final FileChannel channel;
+
+        private final int shift;
+
+        private final int mask;
+
+        private MappedByteBuffer[] segments;
+
+        private long size;
+
+        private MappedRegion(FileChannel channel, long size, int shift) throws IOException {
+            this.channel = channel;
+            this.shift = shift;
+            this.mask = (1 << shift) - 1;
+            map(size);
+        }
+
+        long size() {
+            return size;
+        }
+
+        /**
+         * Force the current content to disk and map the file with a new size. Complete segments are kept.
+         */
+        void resize(long newSize) throws IOException {
+            force();
+            map(newSize);
+        }
+
+        void force() {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+
+        byte get(long pos) {
+            return segments[(int) (pos >>> shift)].get((int) (pos & mask));
+        }
+
+        void put(long pos, byte value) {
+            segments[(int) (pos >>> shift)].put((int) (pos & mask), value);
+        }
+
+        int getInt(long pos) {
+            final MappedByteBuffer segment = segments[(int) (pos >>> shift)];
+            final int offset = (int) (pos & mask);
+            if (offset + 4 <= segment.capacity()) {
+                return segment.getInt(offset);
+            }
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (get(pos + i) & 0xff);
+            }
+            return value;
+        }
+
+        void putInt(long pos, int value) {
+            final MappedByteBuffer segment = segments[(int) (pos >>> shift)];
+            final int offset = (int) (pos & mask);
+            if (offset + 4 <= segment.capacity()) {
+                segment.putInt(offset, value);
+                return;
+            }
+            for (int i = 0; i < 4; i++) {
+                put(pos + i, (byte) (value >>> (24 - 8 * i)));
+            }
+        }
+
+        long getLong(long pos) {
+            final MappedByteBuffer segment = segments[(int) (pos >>> shift)];
+            final int offset = (int) (pos & mask);
+            if (offset + 8 <= segment.capacity()) {
+                return segment.getLong(offset);
+            }
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (get(pos + i) & 0xff);
+            }
+            return value;
+        }
+
+        void putLong(long pos, long value) {
+            final MappedByteBuffer segment = segments[(int) (pos >>> shift)];
+            final int offset = (int) (pos & mask);
+            if (offset + 8 <= segment.capacity()) {
+                segment.putLong(offset, value);
+                return;
+            }
+            for (int i = 0; i < 8; i++) {
+                put(pos + i, (byte) (value >>> (56 - 8 * i)));
+            }
+        }
+
+        private void map(long newSize) throws IOException {
+            final long segmentSize = 1L << shift;
+            final int count = (int) ((newSize + segmentSize - 1) >>> shift);
+            final MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                final long start = (long) i << shift;
+                if (segments != null && i < segments.length && segments[i].capacity() == segmentSize) {
+                    mapped[i] = segments[i];
+                } else {
+                    mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(segmentSize, newSize - start));
+                }
+            }
+            segments = mapped;
+            size = newSize;
+        }
+    }
+
+}
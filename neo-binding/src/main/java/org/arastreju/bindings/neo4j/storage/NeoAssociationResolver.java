@@ -16,16 +16,15 @@
  */
 package org.arastreju.bindings.neo4j.storage;
 
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
 import org.arastreju.sge.SNOPS;
 import org.arastreju.sge.context.Context;
 import org.arastreju.sge.context.SimpleContextID;
 import org.arastreju.sge.model.DetachedStatement;
-import org.arastreju.sge.model.ElementaryDataType;
-import org.arastreju.sge.model.SimpleResourceID;
+import org.arastreju.sge.model.Statement;
 import org.arastreju.sge.model.StatementMetaInfo;
 import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
 import org.arastreju.sge.model.nodes.ResourceNode;
-import org.arastreju.sge.model.nodes.SNValue;
 import org.arastreju.sge.model.nodes.SemanticNode;
 import org.arastreju.sge.model.nodes.ValueNode;
 import org.arastreju.sge.naming.QualifiedName;
@@ -37,13 +36,21 @@ import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
 import org.arastreju.sge.spi.uow.ResourceResolverImpl;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.Relationship;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Locale;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.arastreju.sge.SNOPS.id;
 
@@ -70,6 +77,8 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
 
     private final NeoGraphDataStore store;
 
+    private final boolean lazyObjects;
+
     // ----------------------------------------------------
 
 	/**
@@ -81,6 +90,7 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
         this.convContext = conversationContext;
 		this.resourceResolver = new ResourceResolverImpl(conversationContext);
         this.store = store;
+        this.lazyObjects = store.getConfiguration().isLazyResolve();
 	}
 
 	// ----------------------------------------------------
@@ -91,30 +101,187 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
 	 */
 	@Override
     public void resolveAssociations(AttachedAssociationKeeper keeper) {
-        final Node neoNode = store.getNeoNode(keeper.getQualifiedName());
+        flushWriteBuffer();
+        final Node neoNode = store.getNeoNode(keeper);
         if (neoNode == null) {
             LOGGER.warn("Found no neo node in data store for attached node {}", keeper.getQualifiedName());
             return;
         }
-        for(Relationship rel : neoNode.getRelationships(Direction.OUTGOING)){
-			final Context[] ctx = getContextInfo(rel);
-			if (!regardContext(ctx, rel)) {
-				continue;
+        resolve(keeper, neoNode, newReadContextFilter());
+	}
+
+	/**
+	 * Resolve the associations of several association keepers in one pass. Nodes without known physical ID
+	 * are looked up together, all nodes are read in the order of their IDs, i.e. of their position in the node store.
+	 * Not part of the generic resolver interface, available through {@link NeoGraphDataStore#createAssociationResolver}.
+	 * @param keepers The association keepers to be resolved.
+	 */
+	public void resolveAssociations(Collection<AttachedAssociationKeeper> keepers) {
+        flushWriteBuffer();
+        final Map<QualifiedName, AttachedAssociationKeeper> byName =
+                new HashMap<QualifiedName, AttachedAssociationKeeper>(keepers.size() * 2);
+        for (AttachedAssociationKeeper keeper : keepers) {
+            byName.put(keeper.getQualifiedName(), keeper);
+        }
+        final Map<QualifiedName, Node> neoNodes = store.getNeoNodesOf(byName.values());
+        final ReadContextFilter filter = newReadContextFilter();
+        for (Map.Entry<QualifiedName, Node> entry : neoNodes.entrySet()) {
+            resolve(byName.get(entry.getKey()), entry.getValue(), filter);
+        }
+        if (neoNodes.size() < byName.size()) {
+            for (QualifiedName qn : byName.keySet()) {
+                if (!neoNodes.containsKey(qn)) {
+                    LOGGER.warn("Found no neo node in data store for attached node {}", qn);
+                }
+            }
+        }
+	}
+
+	/**
+	 * Iterate lazily over the associations of a node. Relationships are read and their objects are resolved
+	 * only when the cursor is advanced.
+	 * @param qn The qualified name of the node.
+	 * @return The cursor.
+	 */
+	public AssociationCursor iterateAssociations(QualifiedName qn) {
+		return iterateAssociations(qn, null);
+	}
+
+	/**
+	 * Iterate lazily over the associations of a node with given predicate.
+	 * @param qn The qualified name of the node.
+	 * @param predicate The predicate or null for all predicates.
+	 * @return The cursor.
+	 */
+	public AssociationCursor iterateAssociations(QualifiedName qn, QualifiedName predicate) {
+		flushWriteBuffer();
+		final AttachedAssociationKeeper keeper = convContext.lookup(qn);
+		final Node neoNode = keeper != null ? store.getNeoNode(keeper) : store.getNeoNode(qn);
+		final List<Iterator<Relationship>> sources = new ArrayList<Iterator<Relationship>>(2);
+		if (neoNode == null) {
+			LOGGER.warn("Found no neo node in data store for node {}", qn);
+		} else if (predicate == null) {
+			sources.add(neoNode.getRelationships(Direction.OUTGOING).iterator());
+		} else {
+			sources.add(neoNode.getRelationships(RelationshipLayout.typeOf(predicate.toURI()), Direction.OUTGOING).iterator());
+			sources.add(neoNode.getRelationships(Direction.OUTGOING, ArasRelationshipType.REFERENCE,
+					ArasRelationshipType.VALUE, ArasRelationshipType.INLINE_VALUE).iterator());
+		}
+		return new AssociationCursor(this, qn, predicate != null ? predicate.toURI() : null, sources, newReadContextFilter());
+	}
+
+	/**
+	 * Iterate lazily over the statements referencing a node, e.g. the instances of a class with predicate rdf:type.
+	 * The incoming relationships of the node are walked, no index is queried.
+	 * @param qn The qualified name of the referenced node.
+	 * @param predicate The predicate or null for all predicates.
+	 * @return The cursor.
+	 */
+	public AssociationCursor iterateIncoming(QualifiedName qn, QualifiedName predicate) {
+		flushWriteBuffer();
+		final AttachedAssociationKeeper keeper = convContext.lookup(qn);
+		final Node neoNode = keeper != null ? store.getNeoNode(keeper) : store.getNeoNode(qn);
+		final List<Iterator<Relationship>> sources = new ArrayList<Iterator<Relationship>>(1);
+		if (neoNode == null) {
+			LOGGER.warn("Found no neo node in data store for node {}", qn);
+		} else {
+			sources.add(store.getIncomingReferences(neoNode, predicate != null ? predicate.toURI() : null));
+		}
+		return new AssociationCursor(this, qn, null, sources, newReadContextFilter(), true);
+	}
+
+	/**
+	 * Resolve a page of the statements referencing a node.
+	 * @param qn The qualified name of the referenced node.
+	 * @param predicate The predicate or null for all predicates.
+	 * @param offset The number of statements to skip.
+	 * @param limit The maximum number of statements.
+	 * @return The statements, in the order of the node's relationships.
+	 */
+	public List<Statement> resolveIncoming(QualifiedName qn, QualifiedName predicate, int offset, int limit) {
+		final AssociationCursor cursor = iterateIncoming(qn, predicate);
+		if (cursor.skip(offset) < offset) {
+			return Collections.emptyList();
+		}
+		return cursor.nextChunk(limit);
+	}
+
+	// ----------------------------------------------------
+
+	/**
+	 * Convert a relationship into a statement.
+	 * @param subject The subject of the statement.
+	 * @param rel The relationship.
+	 * @param filter The filter for the conversation's read contexts.
+	 * @return The statement or null if it is not in the conversation's read contexts.
+	 */
+	DetachedStatement toStatement(QualifiedName subject, Relationship rel, ReadContextFilter filter) {
+		final Context[] ctx;
+		final int[] ctxIds = (int[]) rel.getProperty(NeoConstants.CONTEXT_ID, null);
+		if (ctxIds != null) {
+			if (!filter.accepts(ctxIds)) {
+				if (LOGGER.isDebugEnabled()) {
+					logDisregarded(rel, getContextInfo(ctxIds));
+				}
+				return null;
 			}
-			SemanticNode object = null;
-			if (rel.isType(ArasRelationshipType.REFERENCE)){
-				object = resolve(rel.getEndNode());
-			} else if (rel.isType(ArasRelationshipType.VALUE)){
-				object = toValueNode(rel.getEndNode());
+			ctx = getContextInfo(ctxIds);
+		} else {
+			ctx = getContextInfo(rel);
+			if (!regardContext(ctx, rel)) {
+				return null;
 			}
-			final ResourceNode predicate = resourceResolver.resolve(new SimpleResourceID(rel.getProperty(PREDICATE_URI).toString()));
-			final StatementMetaInfo mi = new StatementMetaInfo(ctx, new Date((Long)rel.getProperty(TIMESTAMP, 0L)));
-			keeper.addAssociationDirectly(new DetachedStatement(id(keeper.getQualifiedName()), predicate, object, mi));
 		}
+		final SemanticNode object = convert(rel, rel.getEndNode());
+		final ResourceNode predicate = resourceResolver.resolve(id(RelationshipLayout.getPredicate(rel, store.getUriDictionary())));
+		final StatementMetaInfo mi = new StatementMetaInfo(ctx, new Date((Long)rel.getProperty(TIMESTAMP, 0L)));
+		return new DetachedStatement(id(subject), predicate, object, mi);
+	}
+
+	/**
+	 * Check if a relationship is in the conversation's read contexts, without converting it.
+	 * @param rel The relationship.
+	 * @param filter The filter for the conversation's read contexts.
+	 * @return true if the relationship's statement is readable.
+	 */
+	boolean isReadable(Relationship rel, ReadContextFilter filter) {
+		final int[] ctxIds = (int[]) rel.getProperty(NeoConstants.CONTEXT_ID, null);
+		if (ctxIds != null) {
+			return filter.accepts(ctxIds);
+		}
+		return regardContext(getContextInfo(rel), rel);
+	}
+
+	/**
+	 * @param rel The relationship.
+	 * @return The qualified name of the relationship's start node, i.e. the statement's subject, or null.
+	 */
+	QualifiedName getSubject(Relationship rel) {
+		final Object uriProperty = rel.getStartNode().getProperty(NeoConstants.PROPERTY_URI, null);
+		return uriProperty != null ? QualifiedName.create(uriProperty.toString()) : null;
+	}
+
+	/**
+	 * @param rel The relationship.
+	 * @return The URI of the relationship's predicate.
+	 */
+	String getPredicateURI(Relationship rel) {
+		return RelationshipLayout.getPredicateURI(rel, store.getUriDictionary());
 	}
 
 	// ----------------------------------------------------
 
+    private void flushWriteBuffer() {
+        final NeoWriteBuffer writeBuffer = store.getWriteBuffer();
+        if (writeBuffer != null) {
+            writeBuffer.flush();
+        }
+    }
+
+    private ReadContextFilter newReadContextFilter() {
+        return new ReadContextFilter(convContext.getReadContexts(), store.getUriDictionary());
+    }
+
     private Context[] getContextInfo(final Relationship rel) {
         if (!rel.hasProperty(NeoConstants.CONTEXT_URI)) {
             return NO_CTX;
@@ -122,16 +289,49 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
         final String[] ctxUris = (String[]) rel.getProperty(NeoConstants.CONTEXT_URI);
         final Context[] ctxs = new Context[ctxUris.length];
         for (int i = 0; i < ctxUris.length; i++) {
-            final String uri = ctxUris[i];
-            final QualifiedName qn = SNOPS.qualify(uri);
-            if (!exists(qn)) {
-                throw new IllegalStateException("Could not find context: " + qn);
-            } else {
-                ctxs[i] = new SimpleContextID(qn);
-            }
+            final SimpleContextID registered = store.getContextRegistry().get(ctxUris[i]);
+            ctxs[i] = registered != null ? registered : lookupContext(SNOPS.qualify(ctxUris[i]));
         }
         return ctxs;
     }
+
+    private Context[] getContextInfo(final int[] ctxIds) {
+        final Context[] ctxs = new Context[ctxIds.length];
+        for (int i = 0; i < ctxIds.length; i++) {
+            final QualifiedName qn = store.getUriDictionary().getQualifiedName(ctxIds[i]);
+            final SimpleContextID registered = store.getContextRegistry().get(qn.toURI());
+            ctxs[i] = registered != null ? registered : lookupContext(qn);
+        }
+        return ctxs;
+    }
+
+	private void resolve(AttachedAssociationKeeper keeper, Node neoNode, ReadContextFilter filter) {
+        final long timerMark = store.getMetrics().start();
+        final long scanMark = store.getHubNodeDetector().start();
+        final long allocationMark = store.getMetrics().startAllocations();
+        int count = 0;
+        int filtered = 0;
+        for(Relationship rel : neoNode.getRelationships(Direction.OUTGOING)){
+			final DetachedStatement stmt = toStatement(keeper.getQualifiedName(), rel, filter);
+			if (stmt != null) {
+				keeper.addAssociationDirectly(stmt);
+				count++;
+			} else {
+				filtered++;
+			}
+		}
+        store.getMetrics().allocated(allocationMark, count);
+        store.getMetrics().stop(NeoMetrics.Timer.RESOLVE, timerMark);
+        store.getMetrics().resolved(count + filtered, filtered);
+        store.getHubNodeDetector().record("resolve", keeper.getQualifiedName(), count + filtered, scanMark);
+	}
+
+    private SimpleContextID lookupContext(QualifiedName qn) {
+        if (!exists(qn)) {
+            throw new IllegalStateException("Could not find context: " + qn);
+        }
+        return store.getContextRegistry().register(qn);
+    }
 	
 	private boolean regardContext(Context[] stmtContexts, Relationship rel) {
 		if (stmtContexts.length == 0) {
@@ -146,28 +346,33 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
                 }
             }
         }
+        logDisregarded(rel, stmtContexts);
+		return false;
+	}
+
+    private void logDisregarded(Relationship rel, Context[] stmtContexts) {
         if (LOGGER.isDebugEnabled()) {
             final StringBuilder sb = new StringBuilder("Contexts of Statement ");
             sb.append(resolve(rel.getStartNode()));
             sb.append(" --> ");
-            sb.append(rel.getProperty(PREDICATE_URI));
+            sb.append(RelationshipLayout.getPredicateURI(rel, store.getUriDictionary()));
             sb.append(" --> ");
             sb.append(convert(rel, rel.getEndNode()));
             sb.append(" {} ");
             sb.append("not in read contexts");
             sb.append(" {}.");
-            LOGGER.debug(sb.toString(), Arrays.toString(stmtContexts), Arrays.toString(readContexts));
+            LOGGER.debug(sb.toString(), Arrays.toString(stmtContexts), Arrays.toString(convContext.getReadContexts()));
         }
-		return false;
-	}
+    }
 
     private SemanticNode convert(Relationship rel, Node node) {
-        if (rel.isType(ArasRelationshipType.REFERENCE)){
-            return resolve(node);
-        } else if (rel.isType(ArasRelationshipType.VALUE)){
-            return toValueNode(node);
-        } else {
-            return null;
+        switch (RelationshipLayout.kindOf(rel)) {
+            case KIND_REFERENCE:
+                return lazyObjects ? reference(node) : resolve(node);
+            case KIND_INLINE_VALUE:
+                return toValueNode(rel);
+            default:
+                return toValueNode(node);
         }
     }
 
@@ -185,38 +390,72 @@ public class NeoAssociationResolver implements AssociationResolver, NeoConstants
         return new AttachedResourceNode(qn, keeper);
     }
 
+    /**
+     * Lazy counterpart of {@link #resolve(Node)}: nodes not yet attached are not attached to the working context
+     * before their associations are accessed.
+     */
+    private ResourceNode reference(final Node neoNode) {
+        final Object uriProperty = neoNode.getProperty(NeoConstants.PROPERTY_URI, null);
+        if (uriProperty == null) {
+            return null;
+        }
+        final QualifiedName qn = QualifiedName.create(uriProperty.toString());
+        final AttachedAssociationKeeper keeper = convContext.lookup(qn);
+        if (keeper != null) {
+            return new AttachedResourceNode(qn, keeper);
+        }
+        return new AttachedResourceNode(qn, new LazyKeeper(qn, new NumericPhysicalNodeID(neoNode.getId())));
+    }
+
     private boolean exists(QualifiedName qn) {
         return store.find(qn) != null;
     }
 
-    private ValueNode toValueNode(Node neoNode) {
-        return new SNValue(getDatatype(neoNode), neoNode.getProperty(PROPERTY_VALUE), getLocale(neoNode));
+    private ValueNode toValueNode(PropertyContainer neoNode) {
+        return store.getLiteralCodec().decode(neoNode);
     }
 
-    /**
-     * @param neoNode The Neo Node.
-     * @return The corresponding datatype.
-     */
-    private ElementaryDataType getDatatype(final Node neoNode) {
-        final String datatypeName = (String) neoNode.getProperty(PROPERTY_DATATYPE);
-        return ElementaryDataType.valueOf(datatypeName);
-    }
+    // ----------------------------------------------------
 
     /**
-     * @param neoNode The Neo Node.
-     * @return The corresponding datatype.
+     * Keeper of a referenced node, attaching itself to the working context on first access. If the node has
+     * been attached by other means in the meantime, the access is delegated to that node's keeper.
      */
-    private Locale getLocale(final Node neoNode) {
-        if (!neoNode.hasProperty(PROPERTY_LOCALE)) {
-            return null;
+    private class LazyKeeper extends AttachedAssociationKeeper {
+
+        private LazyKeeper(QualifiedName qn, NumericPhysicalNodeID id) {
+            super(qn, id);
+        }
+
+        @Override
+        public Set<Statement> getAssociations() {
+            final AttachedAssociationKeeper attached = attach();
+            return attached == this ? super.getAssociations() : attached.getAssociations();
+        }
+
+        @Override
+        public void addAssociation(Statement assoc) {
+            final AttachedAssociationKeeper attached = attach();
+            if (attached == this) {
+                super.addAssociation(assoc);
+            } else {
+                attached.addAssociation(assoc);
+            }
+        }
+
+        @Override
+        public boolean removeAssociation(Statement assoc) {
+            final AttachedAssociationKeeper attached = attach();
+            return attached == this ? super.removeAssociation(assoc) : attached.removeAssociation(assoc);
         }
-        final String localeName = (String) neoNode.getProperty(PROPERTY_LOCALE);
-        String language = localeName.substring(0, 2);
-        if (localeName.length() >= 5 ) {
-            String country = localeName.substring(3, 5);
-            return new Locale(language, country);
-        } else {
-            return new Locale(language);
+
+        private AttachedAssociationKeeper attach() {
+            final AttachedAssociationKeeper attached = convContext.lookup(getQualifiedName());
+            if (attached != null) {
+                return attached;
+            }
+            convContext.attach(getQualifiedName(), this);
+            return this;
         }
     }
 
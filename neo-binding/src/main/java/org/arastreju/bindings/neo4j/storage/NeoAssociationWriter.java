@@ -16,12 +16,16 @@
  */
 package org.arastreju.bindings.neo4j.storage;
 
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
 import org.arastreju.sge.ConversationContext;
 import org.arastreju.sge.SNOPS;
 import org.arastreju.sge.context.Context;
 import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
 import org.arastreju.sge.model.nodes.ResourceNode;
 import org.arastreju.sge.model.nodes.ValueNode;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.spi.WorkingContext;
 import org.arastreju.sge.spi.impl.AbstractAssociationWriter;
 import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Node;
@@ -31,7 +35,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Date;
-import java.util.Locale;
 
 /**
  * <p>
@@ -50,96 +53,210 @@ public class NeoAssociationWriter extends AbstractAssociationWriter implements N
 
     private final NeoGraphDataStore store;
 
+    private final WorkingContext workingContext;
+
     // ----------------------------------------------------
 
+    /**
+     * Constructor. With write behind the operations are buffered in the write buffer of the current
+     * transaction, see {@link NeoGraphDataStore#getWriteBuffer()}.
+     * @param convContext The conversation context.
+     * @param store The store.
+     */
     public NeoAssociationWriter(ConversationContext convContext, NeoGraphDataStore store) {
         super(convContext, store);
         this.store = store;
+        this.workingContext = convContext instanceof WorkingContext ? (WorkingContext) convContext : null;
     }
 
     // ----------------------------------------------------
 
     @Override
     public void onCreate(Statement stmt) {
-        Node node = store.getNeoNode(stmt.getSubject().getQualifiedName());
-        createRelationship(node, stmt);
+        final Context[] contexts = getCurrentContexts(stmt);
+        assureContextsExist(contexts);
+        final NeoWriteBuffer writeBuffer = store.getWriteBuffer();
+        if (writeBuffer != null) {
+            // Rejected now like a direct write would be, instead of failing the commit.
+            if (stmt.getObject().isResourceNode() && getNeoNode(stmt.getObject().asResource().getQualifiedName()) == null) {
+                throw new IllegalStateException("Found no neo node for object of statement: " + stmt);
+            }
+            writeBuffer.bind(this);
+            writeBuffer.add(stmt, contexts);
+            return;
+        }
+        Node node = getNeoNode(stmt.getSubject().getQualifiedName());
+        applyCreate(node, stmt, contexts, true);
     }
 
     @Override
     public void onRemove(final Statement stmt) {
-        Node node = store.getNeoNode(stmt.getSubject().getQualifiedName());
-        final Relationship relationship = findCorresponding(node, stmt);
+        final NeoWriteBuffer writeBuffer = store.getWriteBuffer();
+        if (writeBuffer != null) {
+            writeBuffer.bind(this);
+            writeBuffer.remove(stmt);
+            return;
+        }
+        Node node = getNeoNode(stmt.getSubject().getQualifiedName());
+        applyRemove(node, stmt);
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Create the relationship for a buffered statement.
+     * @param node The subject's neo node.
+     * @param stmt The statement.
+     * @param contexts The contexts to assign the statement to.
+     */
+    void applyCreate(Node node, Statement stmt, Context[] contexts) {
+        applyCreate(node, stmt, contexts, false);
+    }
+
+    /**
+     * Delete the relationship of a statement.
+     * @param node The subject's neo node.
+     * @param stmt The statement.
+     */
+    void applyRemove(Node node, Statement stmt) {
+        final long mark = store.getMetrics().start();
+        Relationship relationship = null;
+        if (store.getConfiguration().isStatementIndex()) {
+            relationship = store.getStatementIndex().find(node, stmt.getPredicate().toURI(), SNOPS.string(stmt.getObject()));
+        }
+        if (relationship == null) {
+            relationship = findCorresponding(node, stmt);
+        }
         if (relationship != null) {
+            store.beginWrite();
             LOGGER.debug("Deleting physical relationship: {}", stmt);
-            relationship.delete();
+            store.deleteRelationship(relationship);
         } else {
             LOGGER.warn("Didn't find corresponding relationship to delete: {}", stmt);
         }
+        store.getMetrics().stop(NeoMetrics.Timer.WRITE, mark);
     }
 
     // ----------------------------------------------------
 
-    private void createRelationship(Node subject, Statement stmt) {
+    /**
+     * Create the relationship for a statement.
+     * @param node The subject's neo node.
+     * @param stmt The statement.
+     * @param contexts The contexts to assign the statement to.
+     * @param direct Flag indicating that the statement is written by the conversation's thread. Buffered writes
+     *               may be applied by another thread, which is not allowed to access the working context.
+     */
+    private void applyCreate(Node node, Statement stmt, Context[] contexts, boolean direct) {
+        final long mark = store.getMetrics().start();
+        store.beginWrite();
+        createRelationship(node, stmt, contexts, direct);
+        store.getMetrics().stop(NeoMetrics.Timer.WRITE, mark);
+    }
+
+    private void createRelationship(Node subject, Statement stmt, Context[] contexts, boolean direct) {
         if (stmt.getObject().isResourceNode()){
             final ResourceNode arasObject = stmt.getObject().asResource();
-            final Node neoObject = store.getNeoNode(arasObject.getQualifiedName());
-            createRelationship(subject, neoObject, stmt);
+            final Node neoObject = direct ? getNeoNode(arasObject.getQualifiedName())
+                    : store.getNeoNode(arasObject.getQualifiedName());
+            if (neoObject == null) {
+                throw new IllegalStateException("Found no neo node for object of statement: " + stmt);
+            }
+            createRelationship(subject, neoObject, stmt, contexts, KIND_REFERENCE);
+        } else if (RelationshipLayout.isInlineCandidate(stmt.getObject().asValue(), store.getConfiguration())) {
+            final Relationship relationship = createRelationship(subject, subject, stmt, contexts, KIND_INLINE_VALUE);
+            store.getLiteralCodec().encode(relationship, stmt.getObject().asValue());
         } else {
-            final Node neoValue = subject.getGraphDatabase().createNode();
             final ValueNode value = stmt.getObject().asValue();
-            neoValue.setProperty(PROPERTY_DATATYPE, value.getDataType().name());
-            neoValue.setProperty(PROPERTY_VALUE, value.getStringValue());
-            addLocale(neoValue, value.getLocale());
-            createRelationship(subject, neoValue, stmt);
+            final Node neoValue;
+            if (store.getConfiguration().isInternedLiterals()) {
+                neoValue = store.getLiteralIndex().getOrCreate(value);
+            } else {
+                neoValue = store.getLiteralIndex().create(value);
+            }
+            createRelationship(subject, neoValue, stmt, contexts, KIND_VALUE);
         }
         LOGGER.debug("Created physical relation for statement: {} ", stmt);
     }
 
-    private void createRelationship(final Node subject, final Node object, final Statement stmt) {
-        final RelationshipType type = stmt.getObject().isResourceNode() ? ArasRelationshipType.REFERENCE : ArasRelationshipType.VALUE;
-        try {
-            final Relationship relationship = subject.createRelationshipTo(object, type);
-            relationship.setProperty(PREDICATE_URI, stmt.getPredicate().toURI());
-            relationship.setProperty(PREDICATE_URI, stmt.getPredicate().toURI());
-            relationship.setProperty(TIMESTAMP, new Date().getTime());
-            assignContext(relationship, getCurrentContexts(stmt));
-        } catch (Exception e) {
-            LOGGER.error("Failed to add relationship--> " + stmt + " to node " + subject, e);
+    private Relationship createRelationship(final Node subject, final Node object, final Statement stmt,
+                                            final Context[] contexts, final byte kind) {
+        final Relationship relationship;
+        if (store.getConfiguration().isPredicateTypedRelationships()) {
+            relationship = subject.createRelationshipTo(object, RelationshipLayout.typeOf(stmt.getPredicate().toURI()));
+            relationship.setProperty(RELATIONSHIP_KIND, kind);
+        } else {
+            relationship = subject.createRelationshipTo(object, RelationshipLayout.genericType(kind));
+            if (store.getConfiguration().isInternedURIs()) {
+                relationship.setProperty(PREDICATE_ID, store.getUriDictionary().getOrCreate(stmt.getPredicate().toURI()));
+            } else {
+                relationship.setProperty(PREDICATE_URI, stmt.getPredicate().toURI());
+            }
         }
+        relationship.setProperty(TIMESTAMP, new Date().getTime());
+        assignContext(relationship, contexts);
+        if (store.getConfiguration().isStatementIndex()) {
+            store.getStatementIndex().add(relationship, stmt.getPredicate().toURI(), SNOPS.string(stmt.getObject()));
+        }
+        return relationship;
     }
 
+
     private Relationship findCorresponding(final Node neoNode, final Statement stmt) {
+        final long mark = store.getHubNodeDetector().start();
         final String assocPredicate = stmt.getPredicate().getQualifiedName().toURI();
         final String assocValue = SNOPS.string(stmt.getObject());
-        for(Relationship rel : neoNode.getRelationships(Direction.OUTGOING)) {
-            final String predicate = (String) rel.getProperty(PREDICATE_URI);
-            if (assocPredicate.equals(predicate)) {
-                if (stmt.getObject().isResourceNode()) {
-                    final String uri = (String) rel.getEndNode().getProperty(PROPERTY_URI);
-                    if (assocValue.equals(uri)) {
-                        return rel;
-                    }
-                } else {
-                    final String value = (String) rel.getEndNode().getProperty(PROPERTY_VALUE);
-                    if (assocValue.equals(value)) {
-                        return rel;
-                    }
+        final RelationshipType predicateType = RelationshipLayout.typeOf(assocPredicate);
+        int scanned = 0;
+        Relationship result = null;
+        for(Relationship rel : neoNode.getRelationships(predicateType, Direction.OUTGOING)) {
+            scanned++;
+            if (matchesObject(rel, stmt, assocValue)) {
+                result = rel;
+                break;
+            }
+        }
+        if (result == null) {
+            for(Relationship rel : neoNode.getRelationships(Direction.OUTGOING, ArasRelationshipType.REFERENCE,
+                    ArasRelationshipType.VALUE, ArasRelationshipType.INLINE_VALUE)) {
+                scanned++;
+                final String predicate = RelationshipLayout.getPredicateURI(rel, store.getUriDictionary());
+                if (assocPredicate.equals(predicate) && matchesObject(rel, stmt, assocValue)) {
+                    result = rel;
+                    break;
                 }
             }
         }
-        return null;
+        store.getHubNodeDetector().record("find-corresponding", stmt.getSubject().getQualifiedName(), scanned, mark);
+        return result;
     }
 
-    private void addLocale(Node node, Locale locale) {
-        if (locale == null || locale.getLanguage() == null) {
-            return;
-        }
-        final StringBuilder sb = new StringBuilder(5);
-        sb.append(locale.getLanguage());
-        if (locale.getCountry() != null) {
-            sb.append("_").append(locale.getCountry());
+    /**
+     * Get the neo node of a resource, using the physical ID known by the working context if attached.
+     * @param qn The resource's qualified name.
+     * @return The neo node.
+     */
+    private Node getNeoNode(QualifiedName qn) {
+        final AttachedAssociationKeeper keeper = workingContext != null ? workingContext.lookup(qn) : null;
+        return keeper != null ? store.getNeoNode(keeper) : store.getNeoNode(qn);
+    }
+
+    private boolean matchesObject(Relationship rel, Statement stmt, String assocValue) {
+        return stmt.getObject().isResourceNode() == RelationshipLayout.isReference(rel)
+                && assocValue.equals(RelationshipLayout.getObjectString(rel, store.getLiteralCodec()));
+    }
+
+    /**
+     * Makes sure the nodes of the contexts exist. Done before a statement is buffered, so that
+     * buffered operations can be applied outside of the conversation.
+     * @param contexts The contexts.
+     */
+    private void assureContextsExist(final Context[] contexts) {
+        if (contexts != null) {
+            for (Context context : contexts) {
+                assureExists(context.getQualifiedName());
+            }
         }
-        node.setProperty(PROPERTY_LOCALE, sb.toString());
     }
 
     /**
@@ -148,10 +265,20 @@ public class NeoAssociationWriter extends AbstractAssociationWriter implements N
      * @param contexts The contexts.
      */
     private void assignContext(final Relationship relationship, final Context[] contexts) {
-        if (contexts != null && contexts.length > 0) {
+        if (contexts == null || contexts.length == 0) {
+            return;
+        }
+        if (store.getConfiguration().isInternedURIs()) {
+            int[] ids = new int[contexts.length];
+            for (int i = 0; i < contexts.length; i++) {
+                store.getContextRegistry().register(contexts[i].getQualifiedName());
+                ids[i] = store.getUriDictionary().getOrCreate(contexts[i].toURI());
+            }
+            relationship.setProperty(NeoConstants.CONTEXT_ID, ids);
+        } else {
             String[] uris = new String[contexts.length];
             for (int i = 0; i < contexts.length; i++) {
-                assureExists(contexts[i].getQualifiedName());
+                store.getContextRegistry().register(contexts[i].getQualifiedName());
                 uris[i] = contexts[i].toURI();
             }
             relationship.setProperty(NeoConstants.CONTEXT_URI, uris);
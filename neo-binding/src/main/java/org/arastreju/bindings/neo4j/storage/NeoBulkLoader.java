@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.Conversation;
+import org.arastreju.sge.context.Context;
+import org.arastreju.sge.index.ArastrejuIndex;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.model.nodes.ResourceNode;
+import org.arastreju.sge.naming.QualifiedName;
+import org.arastreju.sge.persistence.NodeKeyTable;
+import org.arastreju.sge.spi.impl.LuceneBasedNodeKeyTable;
+import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.unsafe.batchinsert.BatchInserter;
+import org.neo4j.unsafe.batchinsert.BatchInserters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *  Bulk loader for statements, writing directly to the Neo4j store files using a {@link BatchInserter}.
+ *  No transactions are used and the key table is updated only once when the loader is finished.
+ * </p>
+ *
+ * <p>
+ *  The store directory must not be in use by a {@link NeoGraphDataStore} while the loader is open.
+ *  The full text index of the {@link org.arastreju.sge.index.IndexProvider} can't be written without the store.
+ *  Instead the loader records the names of all loaded subjects in the {@link #REINDEX_FILE}, which are indexed
+ *  by {@link #reindex(NeoGraphDataStore, Conversation)} once the store is opened again.
+ * </p>
+ *
+ * <p>
+ *  Statements are written in the layout of the given {@link NeoStoreConfiguration}, which has to be the
+ *  configuration the store is opened with afterwards. The statement index and interned literals are
+ *  not supported, stores using them have to be loaded through conversations.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class NeoBulkLoader implements NeoConstants {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NeoBulkLoader.class);
+
+    /**
+     * File in the store directory listing the subjects to be indexed after a bulk load.
+     */
+    public static final String REINDEX_FILE = "bulk-load.reindex";
+
+    private static final String CHARSET = "UTF-8";
+
+    private final String dir;
+
+    private final BatchInserter inserter;
+
+    private final NeoStoreConfiguration config;
+
+    private final NodeKeyTable<NumericPhysicalNodeID> keyTable;
+
+    private final UriDictionary uriDictionary;
+
+    private final LiteralCodec literalCodec;
+
+    private final Map<QualifiedName, Long> knownNodes = new HashMap<QualifiedName, Long>();
+
+    private final Map<QualifiedName, Long> createdNodes = new HashMap<QualifiedName, Long>();
+
+    private final Set<QualifiedName> loadedSubjects = new HashSet<QualifiedName>();
+
+    private int statementCount;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Opens the store in given directory for bulk loading in the default layout.
+     * @param dir The directory of the store.
+     */
+    public NeoBulkLoader(String dir) {
+        this(dir, new NeoStoreConfiguration());
+    }
+
+    /**
+     * Constructor. Opens the store in given directory for bulk loading.
+     * @param dir The directory of the store.
+     * @param config The configuration of the store, defining the layout.
+     */
+    public NeoBulkLoader(String dir, NeoStoreConfiguration config) {
+        if (config.isStatementIndex() || config.isInternedLiterals()) {
+            throw new IllegalArgumentException("Bulk loading is not supported for stores with statement index or interned literals.");
+        }
+        this.dir = dir;
+        this.config = config;
+        this.inserter = BatchInserters.inserter(dir);
+        // The key table is written directly, the store has to rebuild its filter.
+        QualifiedNameFilter.invalidate(dir);
+        try {
+            if (NeoStoreConfiguration.KEY_TABLE_MAPPED.equals(config.getKeyTable())) {
+                this.keyTable = new MappedNodeKeyTable(dir);
+            } else {
+                this.keyTable = LuceneBasedNodeKeyTable.forNumericIDs(dir);
+            }
+            this.uriDictionary = new UriDictionary(dir);
+        } catch (IOException e) {
+            inserter.shutdown();
+            throw new RuntimeException(e);
+        }
+        this.literalCodec = new LiteralCodec(uriDictionary, config.isTypedLiterals());
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Load all given statements into the store.
+     * @param statements The statements.
+     * @return The number of loaded statements.
+     */
+    public int load(Iterable<? extends Statement> statements) {
+        int count = 0;
+        for (Statement stmt : statements) {
+            load(stmt);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Load a single statement into the store.
+     * @param stmt The statement.
+     */
+    public void load(Statement stmt) {
+        final long subject = getOrCreateNode(stmt.getSubject().getQualifiedName());
+        loadedSubjects.add(stmt.getSubject().getQualifiedName());
+        final Map<String, Object> relProperties = new HashMap<String, Object>();
+        relProperties.put(TIMESTAMP, new Date().getTime());
+        assignContext(relProperties, stmt.getContexts());
+        if (stmt.getObject().isResourceNode()) {
+            final long object = getOrCreateNode(stmt.getObject().asResource().getQualifiedName());
+            createRelationship(subject, object, stmt, relProperties, KIND_REFERENCE);
+        } else if (RelationshipLayout.isInlineCandidate(stmt.getObject().asValue(), config)) {
+            relProperties.putAll(literalCodec.encode(stmt.getObject().asValue()));
+            createRelationship(subject, subject, stmt, relProperties, KIND_INLINE_VALUE);
+        } else {
+            final long value = inserter.createNode(literalCodec.encode(stmt.getObject().asValue()));
+            createRelationship(subject, value, stmt, relProperties, KIND_VALUE);
+        }
+        if (++statementCount % 100000 == 0) {
+            LOGGER.info("Bulk loaded {} statements.", statementCount);
+        }
+    }
+
+    /**
+     * Finish the bulk load. The new nodes are written to the key table, the loaded subjects are recorded
+     * for {@link #reindex(NeoGraphDataStore, Conversation)} and the store files are closed.
+     */
+    public void finish() {
+        try {
+            for (Map.Entry<QualifiedName, Long> entry : createdNodes.entrySet()) {
+                keyTable.put(entry.getKey(), new NumericPhysicalNodeID(entry.getValue()));
+            }
+            recordSubjects();
+            LOGGER.info("Bulk load finished: {} statements, {} new nodes.", statementCount, createdNodes.size());
+        } finally {
+            inserter.shutdown();
+            try {
+                keyTable.shutdown();
+                uriDictionary.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Index the subjects of previous bulk loads in the full text index of the store, to be called once after
+     * the store has been opened. The {@link #REINDEX_FILE} is deleted when all subjects have been indexed.
+     * @param store The store the bulk loads have been written to.
+     * @param conversation A conversation of the store, used to read the subjects.
+     * @return The number of indexed subjects.
+     */
+    public static int reindex(NeoGraphDataStore store, Conversation conversation) throws IOException {
+        final File file = new File(store.getDirectory(), REINDEX_FILE);
+        if (!file.exists()) {
+            return 0;
+        }
+        final ArastrejuIndex index = new ArastrejuIndex(conversation.getConversationContext(), store.getIndexProvider());
+        int indexed = 0;
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+        try {
+            String uri;
+            while ((uri = reader.readLine()) != null) {
+                final ResourceNode node = conversation.findResource(QualifiedName.create(uri));
+                if (node != null) {
+                    index.index(node);
+                    indexed++;
+                } else {
+                    LOGGER.debug("Bulk loaded resource {} has been removed in the meantime.", uri);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        if (!file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+        LOGGER.info("Indexed {} bulk loaded resources.", indexed);
+        return indexed;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Append the loaded subjects to the reindex file, which may still contain those of a former bulk load.
+     */
+    private void recordSubjects() {
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(new File(dir, REINDEX_FILE), true), CHARSET));
+            try {
+                for (QualifiedName qn : loadedSubjects) {
+                    writer.write(qn.toURI());
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not record the bulk loaded subjects for reindexing.", e);
+        }
+    }
+
+    private long getOrCreateNode(QualifiedName qn) {
+        final Long known = knownNodes.get(qn);
+        if (known != null) {
+            return known;
+        }
+        final NumericPhysicalNodeID existing = keyTable.lookup(qn);
+        final long id;
+        if (existing != null && isNodeOf(qn, existing.asLong())) {
+            id = existing.asLong();
+        } else {
+            if (existing != null) {
+                LOGGER.debug("Key table entry of {} is stale, creating a new node.", qn);
+            }
+            final Map<String, Object> properties = new HashMap<String, Object>();
+            properties.put(PROPERTY_URI, qn.toURI());
+            id = inserter.createNode(properties);
+            createdNodes.put(qn, id);
+        }
+        knownNodes.put(qn, id);
+        return id;
+    }
+
+    /**
+     * Check that a node still represents given name. Entries of rolled back creates remain in the key table
+     * and Neo4j reuses the IDs of deleted nodes.
+     */
+    private boolean isNodeOf(QualifiedName qn, long id) {
+        return inserter.nodeExists(id) && qn.toURI().equals(inserter.getNodeProperties(id).get(PROPERTY_URI));
+    }
+
+    private void createRelationship(long subject, long object, Statement stmt, Map<String, Object> relProperties, byte kind) {
+        final String predicate = stmt.getPredicate().toURI();
+        final RelationshipType type;
+        if (config.isPredicateTypedRelationships()) {
+            type = RelationshipLayout.typeOf(predicate);
+            relProperties.put(RELATIONSHIP_KIND, kind);
+        } else {
+            type = RelationshipLayout.genericType(kind);
+            if (config.isInternedURIs()) {
+                relProperties.put(PREDICATE_ID, uriDictionary.getOrCreate(predicate));
+            } else {
+                relProperties.put(PREDICATE_URI, predicate);
+            }
+        }
+        inserter.createRelationship(subject, object, type, relProperties);
+    }
+
+    private void assignContext(Map<String, Object> relProperties, Context[] contexts) {
+        if (contexts == null || contexts.length == 0) {
+            return;
+        }
+        if (config.isInternedURIs()) {
+            final int[] ids = new int[contexts.length];
+            for (int i = 0; i < contexts.length; i++) {
+                getOrCreateNode(contexts[i].getQualifiedName());
+                ids[i] = uriDictionary.getOrCreate(contexts[i].toURI());
+            }
+            relProperties.put(CONTEXT_ID, ids);
+        } else {
+            final String[] uris = new String[contexts.length];
+            for (int i = 0; i < contexts.length; i++) {
+                getOrCreateNode(contexts[i].getQualifiedName());
+                uris[i] = contexts[i].toURI();
+            }
+            relProperties.put(CONTEXT_URI, uris);
+        }
+    }
+
+}
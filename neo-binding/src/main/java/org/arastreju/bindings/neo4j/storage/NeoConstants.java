@@ -36,7 +36,8 @@ public interface NeoConstants {
 
     enum ArasRelationshipType implements RelationshipType {
         VALUE,
-        REFERENCE
+        REFERENCE,
+        INLINE_VALUE
     }
 
     // ----------------------------------------------------
@@ -54,6 +55,26 @@ public interface NeoConstants {
 	String PROPERTY_LOCALE = "locale";
 	
 	String PROPERTY_DATATYPE = "datatype";
+
+	/**
+	 * Byte code of the datatype of a literal in typed layout. See {@link LiteralCodec}.
+	 */
+	String PROPERTY_DATATYPE_CODE = "datatype-code";
+
+	/**
+	 * Type of the native value of a literal in typed layout. See {@link LiteralCodec}.
+	 */
+	String PROPERTY_VALUE_TYPE = "value-type";
+
+	/**
+	 * ID of the locale of a literal in typed layout. See {@link LiteralCodec}.
+	 */
+	String PROPERTY_LOCALE_ID = "locale-id";
+
+	/**
+	 * Number of statements referring to a shared value node. See {@link LiteralIndex}.
+	 */
+	String PROPERTY_REF_COUNT = "ref-count";
 	
 	// ----------------------------------------------------
 	
@@ -61,15 +82,40 @@ public interface NeoConstants {
 	 * Attribute of a {@link org.neo4j.graphdb.Relationship}.
 	 */
 	String CONTEXT_URI = "context-uri";
+
+	/**
+	 * Attribute of a {@link org.neo4j.graphdb.Relationship}: the contexts' IDs in the {@link UriDictionary}.
+	 */
+	String CONTEXT_ID = "context-id";
 	
 	/**
 	 * Attribute of a {@link org.neo4j.graphdb.Relationship}.
 	 */
 	String PREDICATE_URI = "predicate-uri";
+
+	/**
+	 * Attribute of a {@link org.neo4j.graphdb.Relationship}: the predicate's ID in the {@link UriDictionary}.
+	 */
+	String PREDICATE_ID = "predicate-id";
 	
 	/**
 	 * Attribute of a {@link org.neo4j.graphdb.Relationship}.
 	 */
 	String TIMESTAMP = "timestamp";
 
+	/**
+	 * Attribute of a predicate typed {@link org.neo4j.graphdb.Relationship}, telling if it points to a
+	 * value or a resource. See {@link #KIND_VALUE} and {@link #KIND_REFERENCE}.
+	 */
+	String RELATIONSHIP_KIND = "kind";
+
+	byte KIND_VALUE = 0;
+
+	byte KIND_REFERENCE = 1;
+
+	/**
+	 * A literal stored in the properties of a relationship pointing back to its subject.
+	 */
+	byte KIND_INLINE_VALUE = 2;
+
 }
@@ -16,13 +16,18 @@
  */
 package org.arastreju.bindings.neo4j.storage;
 
+import org.arastreju.bindings.neo4j.metrics.HubNodeDetector;
+import org.arastreju.bindings.neo4j.metrics.JmxNeoMetrics;
+import org.arastreju.bindings.neo4j.metrics.MBeans;
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
+import org.arastreju.bindings.neo4j.tx.GroupCommitter;
 import org.arastreju.bindings.neo4j.tx.NeoTxProvider;
+import org.arastreju.bindings.neo4j.tx.TxBinding;
 import org.arastreju.sge.ArastrejuProfile;
 import org.arastreju.sge.index.IndexProvider;
 import org.arastreju.sge.model.associations.AttachedAssociationKeeper;
 import org.arastreju.sge.naming.QualifiedName;
 import org.arastreju.sge.persistence.NodeKeyTable;
-import org.arastreju.sge.spi.AssociationResolver;
 import org.arastreju.sge.spi.AssociationWriter;
 import org.arastreju.sge.spi.GraphDataStore;
 import org.arastreju.sge.spi.ProfileCloseListener;
@@ -30,6 +35,7 @@ import org.arastreju.sge.spi.WorkingContext;
 import org.arastreju.sge.spi.impl.LuceneBasedNodeKeyTable;
 import org.arastreju.sge.spi.impl.NumericPhysicalNodeID;
 import org.arastreju.sge.spi.tx.TxProvider;
+import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotFoundException;
@@ -38,8 +44,23 @@ import org.neo4j.kernel.EmbeddedGraphDatabase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.ObjectName;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * <p>
@@ -56,12 +77,47 @@ public class NeoGraphDataStore implements GraphDataStore, ProfileCloseListener {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(NeoGraphDataStore.class);
 
+    private static final long NODE_LOCK_TIMEOUT_SECONDS = 30;
+
+	private final String dir;
+
 	private final GraphDatabaseService gdbService;
 
     private final IndexProvider indexProvider;
 
     private final NodeKeyTable<NumericPhysicalNodeID> keyTable;
 
+    private final CachingNodeKeyTable keyCache;
+
+    private final MappedNodeKeyTable forcedKeyTable;
+
+    private ObjectName keyCacheName;
+
+    private final QualifiedNameFilter qnFilter;
+
+    private final NeoStoreConfiguration config;
+
+    private final UriDictionary uriDictionary;
+
+    private final ContextRegistry contextRegistry;
+
+    private final StatementIndex statementIndex;
+
+    private final LiteralCodec literalCodec;
+
+    private final LiteralIndex literalIndex;
+
+
+    private final GroupCommitter groupCommitter;
+
+    private final TxBinding txBinding = new TxBinding();
+
+    private final InFlightLocks nodeLocks = new InFlightLocks();
+
+    private final NeoMetrics metrics;
+
+    private final HubNodeDetector hubNodeDetector;
+
     // -----------------------------------------------------
 
 	/**
@@ -69,65 +125,181 @@ public class NeoGraphDataStore implements GraphDataStore, ProfileCloseListener {
 	 * @param dir The directory for the store.
 	 */
 	public NeoGraphDataStore(final String dir) {
+        this(dir, new NeoStoreConfiguration());
+    }
+
+	/**
+	 * Constructor. Creates a store using given directory and configuration.
+	 * @param dir The directory for the store.
+	 * @param config The store configuration.
+	 */
+	public NeoGraphDataStore(final String dir, final NeoStoreConfiguration config) {
         if (new File(dir).exists()) {
             LOGGER.info("Using existing Neo4jDataStore in {}.", dir);
         } else {
             LOGGER.info("New Neo4jDataStore created in {}.", dir);
+        }
+		this.dir = dir;
+		this.config = config;
+        // Registered first, a store already open in this directory is detected by the names of its MBeans.
+        final String storeName = new File(dir).getAbsolutePath();
+        metrics = createMetrics(storeName);
+        hubNodeDetector = new HubNodeDetector(config.getHubNodeDegreeThreshold(), config.getSlowScanThreshold(),
+                config.getHubNodeCapacity());
+        try {
+            hubNodeDetector.register(storeName);
+        } catch (IllegalStateException e) {
+            metrics.close();
+            throw e;
         }
 		gdbService = new EmbeddedGraphDatabase(dir); 
+        if (new File(dir, NeoBulkLoader.REINDEX_FILE).exists()) {
+            LOGGER.warn("Bulk loaded resources in {} are not yet indexed, see NeoBulkLoader.reindex().", dir);
+        }
         indexProvider = new IndexProvider(dir);
 
+        final NodeKeyTable<NumericPhysicalNodeID> baseTable;
         try {
-            keyTable = LuceneBasedNodeKeyTable.forNumericIDs(dir);
+            if (NeoStoreConfiguration.KEY_TABLE_MAPPED.equals(config.getKeyTable())) {
+                final MappedNodeKeyTable mappedTable = new MappedNodeKeyTable(dir);
+                forcedKeyTable = config.isKeyTableForce() ? mappedTable : null;
+                baseTable = mappedTable;
+            } else {
+                forcedKeyTable = null;
+                baseTable = LuceneBasedNodeKeyTable.forNumericIDs(dir);
+            }
+            uriDictionary = new UriDictionary(dir);
+            contextRegistry = new ContextRegistry(dir);
+            if (config.getQnFilterSize() > 0) {
+                qnFilter = QualifiedNameFilter.open(dir, config.getQnFilterSize(), gdbService);
+            } else {
+                // Names created without the filter would be missing in a saved one.
+                QualifiedNameFilter.invalidate(dir);
+                qnFilter = null;
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        literalCodec = new LiteralCodec(uriDictionary, config.isTypedLiterals());
+        statementIndex = new StatementIndex(gdbService, uriDictionary, literalCodec);
+        if (!config.isStatementIndex()) {
+            statementIndex.drop();
+        }
+        literalIndex = new LiteralIndex(gdbService, literalCodec);
+        groupCommitter = config.isGroupCommit() ? new GroupCommitter(gdbService, config.getGroupCommitWindow()) : null;
+        if (config.getKeyCacheSize() > 0) {
+            keyCache = new CachingNodeKeyTable(baseTable, config.getKeyCacheSize());
+            keyTable = keyCache;
+        } else {
+            keyCache = null;
+            keyTable = baseTable;
+        }
+        if (keyCache != null) {
+            try {
+                keyCacheName = MBeans.objectName("KeyCache", storeName, null);
+                if (!MBeans.register(keyCache, keyCacheName)) {
+                    keyCacheName = null;
+                }
+            } catch (IllegalStateException e) {
+                keyCacheName = null;
+                close();
+                throw e;
+            }
+        }
+        // Contexts of transactions rolled back before a restart may have been registered.
+        for (QualifiedName ctx : contextRegistry.getContexts()) {
+            if (keyTable.lookup(ctx) == null) {
+                contextRegistry.unregister(ctx);
+            }
+        }
     }
 	
 	// -- GraphDataStore ----------------------------------
 
     @Override
     public AttachedAssociationKeeper find(QualifiedName qn) {
-        NumericPhysicalNodeID id = keyTable.lookup(qn);
+        NumericPhysicalNodeID id = lookup(qn);
 
         if (id != null) {
-            try {
-                Node node = gdbService.getNodeById(id.asLong());
+            final Node node = getNodeOf(qn, id);
+            if (node != null) {
                 return new AttachedAssociationKeeper(qn, new NumericPhysicalNodeID(node.getId()));
-            } catch (NotFoundException e) {
-                keyTable.remove(qn);
-                LOGGER.warn("No more neo node found with id {} and qn {}.", id, qn);
             }
+            // Not removed from the key table, the node may have been created by a transaction not yet
+            // committed. A stale entry is replaced when the node is created again.
+            contextRegistry.unregister(qn);
+            LOGGER.warn("No more neo node found with id {} and qn {}.", id, qn);
         }
         return null;
     }
 
+    /**
+     * Get the node with given qualified name or create it, if not existing. Conversations attaching
+     * the same qualified name concurrently will thus not create duplicate nodes: the lock of the name
+     * is held until the creating transaction has finished.
+     * @param qn The qualified name.
+     * @return The keeper of the existing or new node.
+     */
     @Override
     public AttachedAssociationKeeper create(QualifiedName qn) {
-        Node node = gdbService.createNode();
-        node.setProperty(NeoConstants.PROPERTY_URI, qn.toURI());
-        NumericPhysicalNodeID nodeID = new NumericPhysicalNodeID(node.getId());
-        keyTable.put(qn, nodeID);
-        return new AttachedAssociationKeeper(qn, nodeID);
+        final Lock lock = acquireNodeLock(qn);
+        try {
+            final AttachedAssociationKeeper existing = find(qn);
+            if (existing != null) {
+                return existing;
+            }
+            beginWrite();
+            Node node = gdbService.createNode();
+            node.setProperty(NeoConstants.PROPERTY_URI, qn.toURI());
+            NumericPhysicalNodeID nodeID = new NumericPhysicalNodeID(node.getId());
+            if (qnFilter != null) {
+                qnFilter.add(qn);
+            }
+            keyTable.put(qn, nodeID);
+            forceKeyTable();
+            return new AttachedAssociationKeeper(qn, nodeID);
+        } finally {
+            releaseNodeLock(lock);
+        }
     }
 
     @Override
     public void remove(QualifiedName qn) {
-        NumericPhysicalNodeID existing = keyTable.lookup(qn);
-        if (existing != null) {
-            Node node = gdbService.getNodeById(existing.asLong());
-            for (Relationship rel : node.getRelationships()) {
-                rel.delete();
+        final NeoWriteBuffer writeBuffer = getWriteBuffer();
+        if (writeBuffer != null) {
+            writeBuffer.discard(qn);
+        }
+        final Lock lock = acquireNodeLock(qn);
+        try {
+            NumericPhysicalNodeID existing = keyTable.lookup(qn);
+            if (existing != null) {
+                beginWrite();
+                // A stale entry's ID may have been reused by another node, which must not be deleted.
+                final Node node = getNodeOf(qn, existing);
+                if (node != null) {
+                    // Collect first, a loop of an inline value may be returned for both directions.
+                    final Set<Relationship> relationships = new HashSet<Relationship>();
+                    for (Relationship rel : node.getRelationships()) {
+                        relationships.add(rel);
+                    }
+                    for (Relationship rel : relationships) {
+                        deleteRelationship(rel);
+                    }
+                    node.delete();
+                }
+                keyTable.remove(qn);
+                forceKeyTable();
+                contextRegistry.unregister(qn);
             }
-            node.delete();
-            keyTable.remove(qn);
+        } finally {
+            releaseNodeLock(lock);
         }
     }
 
     // ----------------------------------------------------
 
     @Override
-    public AssociationResolver createAssociationResolver(WorkingContext ctx) {
+    public NeoAssociationResolver createAssociationResolver(WorkingContext ctx) {
         return new NeoAssociationResolver(ctx, this);
     }
 
@@ -138,7 +310,9 @@ public class NeoGraphDataStore implements GraphDataStore, ProfileCloseListener {
 
     @Override
     public TxProvider createTxProvider(WorkingContext ctx) {
-        return new NeoTxProvider(gdbService);
+        // Group committed transactions have to be lazy, so that they don't begin a Neo4j transaction of their own.
+        return new NeoTxProvider(gdbService, txBinding, config.isWriteBehind() ? this : null, groupCommitter,
+                config.isGroupCommitDurable(), config.isLazyTransactions() || groupCommitter != null, metrics);
     }
 
     @Override
@@ -148,10 +322,24 @@ public class NeoGraphDataStore implements GraphDataStore, ProfileCloseListener {
 
     @Override
     public void close() {
+        if (groupCommitter != null) {
+            groupCommitter.shutdown();
+        }
         gdbService.shutdown();
+        metrics.close();
+        hubNodeDetector.unregister();
+        if (keyCacheName != null) {
+            MBeans.unregister(keyCacheName);
+            keyCacheName = null;
+        }
         try {
             indexProvider.shutdown();
             keyTable.shutdown();
+            uriDictionary.close();
+            contextRegistry.close();
+            if (qnFilter != null) {
+                qnFilter.close();
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -166,13 +354,377 @@ public class NeoGraphDataStore implements GraphDataStore, ProfileCloseListener {
 
     // -- Neo Specifics -----------------------------------
 
+    /**
+     * Get the write buffer of the transaction bound to the current thread. The buffer is created with
+     * the transaction and discarded when it finishes.
+     * @return The buffer or null if write behind is disabled or there is no transaction.
+     */
+    public NeoWriteBuffer getWriteBuffer() {
+        return txBinding.getWriteBuffer();
+    }
+
+    /**
+     * @return The directory of this store.
+     */
+    public String getDirectory() {
+        return dir;
+    }
+
+    /**
+     * @return The configuration of this store.
+     */
+    public NeoStoreConfiguration getConfiguration() {
+        return config;
+    }
+
+    /**
+     * @return The dictionary of predicate and context URIs.
+     */
+    public UriDictionary getUriDictionary() {
+        return uriDictionary;
+    }
+
+    /**
+     * @return The registry of existing contexts.
+     */
+    public ContextRegistry getContextRegistry() {
+        return contextRegistry;
+    }
+
+    /**
+     * @return The index of statement relationships.
+     */
+    public StatementIndex getStatementIndex() {
+        return statementIndex;
+    }
+
+    /**
+     * @return The codec for literals.
+     */
+    public LiteralCodec getLiteralCodec() {
+        return literalCodec;
+    }
+
+    /**
+     * @return The instrumentation of this store, {@link NeoMetrics#NOOP} if disabled.
+     */
+    public NeoMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The detector of hub nodes and slow scans.
+     */
+    public HubNodeDetector getHubNodeDetector() {
+        return hubNodeDetector;
+    }
+
+    /**
+     * @return The manager of value nodes.
+     */
+    public LiteralIndex getLiteralIndex() {
+        return literalIndex;
+    }
+
+    /**
+     * To be called before any write to the graph. With lazy transactions this begins the Neo4j transaction
+     * of the current thread's transaction, if not yet done.
+     */
+    public void beginWrite() {
+        txBinding.beginWrite();
+    }
+
+    /**
+     * Delete a statement relationship and remove it from the statement index. A value node
+     * no longer referenced is deleted, too.
+     * @param rel The relationship.
+     */
+    public void deleteRelationship(Relationship rel) {
+        final boolean isValue = RelationshipLayout.isValue(rel);
+        final Node end = rel.getEndNode();
+        if (config.isStatementIndex()) {
+            statementIndex.remove(rel);
+        }
+        rel.delete();
+        if (isValue) {
+            literalIndex.release(end);
+        }
+    }
+
+    /**
+     * @return The cache in front of the key table or null if caching is disabled.
+     */
+    public CachingNodeKeyTable getKeyCache() {
+        return keyCache;
+    }
+
     public Node getNeoNode(QualifiedName qn) {
-        NumericPhysicalNodeID id = keyTable.lookup(qn);
+        NumericPhysicalNodeID id = lookup(qn);
         if (id != null) {
-            return gdbService.getNodeById(id.asLong());
+            return getNodeOf(qn, id);
         } else {
             return null;
         }
     }
 
+    /**
+     * Get the neo node of an attached node. The physical ID known by the keeper is used, the key table
+     * is only consulted if the keeper has none or it is no longer valid. As Neo4j reuses the IDs of deleted
+     * nodes, the ID is only valid if the node still has the keeper's URI.
+     * @param keeper The association keeper of the attached node.
+     * @return The neo node or null.
+     */
+    public Node getNeoNode(AttachedAssociationKeeper keeper) {
+        if (keeper.getPhysicalID() instanceof NumericPhysicalNodeID) {
+            final Node node = getNodeOf(keeper.getQualifiedName(), (NumericPhysicalNodeID) keeper.getPhysicalID());
+            if (node != null) {
+                return node;
+            }
+            LOGGER.debug("Physical ID of {} is no longer valid.", keeper.getQualifiedName());
+        }
+        return getNeoNode(keeper.getQualifiedName());
+    }
+
+    /**
+     * Get the neo nodes of several attached nodes. Only the names of keepers without a valid physical ID
+     * are looked up in the key table. The nodes are read in the order of their IDs.
+     * @param keepers The association keepers of the attached nodes.
+     * @return The nodes by qualified name in the order of their IDs. Names without a node are omitted.
+     */
+    public Map<QualifiedName, Node> getNeoNodesOf(Collection<AttachedAssociationKeeper> keepers) {
+        final Map<QualifiedName, NumericPhysicalNodeID> ids = new HashMap<QualifiedName, NumericPhysicalNodeID>(keepers.size() * 2);
+        final List<QualifiedName> unknown = new ArrayList<QualifiedName>();
+        for (AttachedAssociationKeeper keeper : keepers) {
+            if (keeper.getPhysicalID() instanceof NumericPhysicalNodeID) {
+                ids.put(keeper.getQualifiedName(), (NumericPhysicalNodeID) keeper.getPhysicalID());
+            } else {
+                unknown.add(keeper.getQualifiedName());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            ids.putAll(lookupAll(unknown));
+        }
+        final Map<QualifiedName, Node> result = readSorted(ids);
+        if (result.size() < ids.size()) {
+            // Physical IDs of keepers may be no longer valid, retry these names with the key table.
+            final List<QualifiedName> invalid = new ArrayList<QualifiedName>();
+            for (QualifiedName qn : ids.keySet()) {
+                if (!result.containsKey(qn) && !unknown.contains(qn)) {
+                    invalid.add(qn);
+                }
+            }
+            if (!invalid.isEmpty()) {
+                result.putAll(readSorted(lookupAll(invalid)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the references pointing to a node, i.e. its incoming relationships. Only the relationships
+     * attached to the node are visited, the index is not consulted.
+     * @param object The neo node of the referenced resource.
+     * @param predicateURI The predicate of the references or null for all predicates.
+     * @return Lazy iterator over the referencing relationships.
+     */
+    public Iterator<Relationship> getIncomingReferences(Node object, String predicateURI) {
+        final List<Iterator<Relationship>> sources = new ArrayList<Iterator<Relationship>>(2);
+        if (predicateURI == null) {
+            sources.add(object.getRelationships(Direction.INCOMING).iterator());
+        } else {
+            sources.add(object.getRelationships(RelationshipLayout.typeOf(predicateURI), Direction.INCOMING).iterator());
+            sources.add(object.getRelationships(NeoConstants.ArasRelationshipType.REFERENCE, Direction.INCOMING).iterator());
+        }
+        return new IncomingReferences(sources, predicateURI, uriDictionary);
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Acquire the lock of a qualified name. Only operations on the same name contend, but the wait is still
+     * limited, as transactions hold these locks until they finish and may thus deadlock each other.
+     */
+    private Lock acquireNodeLock(QualifiedName qn) {
+        final Lock lock;
+        try {
+            lock = nodeLocks.lock(qn, NODE_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (lock == null) {
+                throw new IllegalStateException("Could not acquire lock for " + qn + " within "
+                        + NODE_LOCK_TIMEOUT_SECONDS + " seconds, possibly a deadlock.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lock of " + qn, e);
+        }
+        return lock;
+    }
+
+    /**
+     * Release a lock when the current transaction finishes, or immediately if there is none.
+     */
+    private void releaseNodeLock(Lock lock) {
+        if (!txBinding.holdUntilFinish(lock)) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Force the mapped key table to disk before the current transaction commits, or immediately if there is none.
+     */
+    private void forceKeyTable() {
+        if (forcedKeyTable != null && !txBinding.forceBeforeCommit(forcedKeyTable)) {
+            forcedKeyTable.force();
+        }
+    }
+
+    private NeoMetrics createMetrics(String storeName) {
+        if (config.getMetricsFactory() != null) {
+            return config.getMetricsFactory().create(storeName);
+        } else if (config.isMetrics() || config.isAllocationMetrics()) {
+            return new JmxNeoMetrics(storeName, config.isAllocationMetrics());
+        } else {
+            return NeoMetrics.NOOP;
+        }
+    }
+
+    private NumericPhysicalNodeID lookup(QualifiedName qn) {
+        if (qnFilter != null && !qnFilter.mightContain(qn)) {
+            return null;
+        }
+        final long mark = metrics.start();
+        try {
+            return keyTable.lookup(qn);
+        } finally {
+            metrics.stop(NeoMetrics.Timer.KEY_LOOKUP, mark);
+        }
+    }
+
+    /**
+     * Look up several names in the key table. Names excluded by the filter are skipped and cached names are
+     * served by the key cache, the remaining names are looked up one by one, see
+     * {@link CachingNodeKeyTable#lookupAll(Collection)}.
+     */
+    private Map<QualifiedName, NumericPhysicalNodeID> lookupAll(Collection<QualifiedName> qns) {
+        if (keyCache != null) {
+            if (qnFilter == null) {
+                return keyCache.lookupAll(qns);
+            }
+            final List<QualifiedName> candidates = new ArrayList<QualifiedName>(qns.size());
+            for (QualifiedName qn : qns) {
+                if (qnFilter.mightContain(qn)) {
+                    candidates.add(qn);
+                }
+            }
+            return keyCache.lookupAll(candidates);
+        }
+        final Map<QualifiedName, NumericPhysicalNodeID> ids = new HashMap<QualifiedName, NumericPhysicalNodeID>(qns.size() * 2);
+        for (QualifiedName qn : qns) {
+            final NumericPhysicalNodeID id = lookup(qn);
+            if (id != null) {
+                ids.put(qn, id);
+            }
+        }
+        return ids;
+    }
+
+    private Map<QualifiedName, Node> readSorted(Map<QualifiedName, NumericPhysicalNodeID> ids) {
+        final SortedMap<Long, QualifiedName> byId = new TreeMap<Long, QualifiedName>();
+        for (Map.Entry<QualifiedName, NumericPhysicalNodeID> entry : ids.entrySet()) {
+            byId.put(entry.getValue().asLong(), entry.getKey());
+        }
+        final Map<QualifiedName, Node> result = new LinkedHashMap<QualifiedName, Node>(byId.size() * 2);
+        for (Map.Entry<Long, QualifiedName> entry : byId.entrySet()) {
+            final Node node = getNodeOf(entry.getValue(), ids.get(entry.getValue()));
+            if (node != null) {
+                result.put(entry.getValue(), node);
+            } else {
+                LOGGER.debug("No more neo node found with id {} and qn {}.", entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read a node and check that it still represents given name, as Neo4j reuses the IDs of deleted nodes.
+     * @param qn The qualified name.
+     * @param id The physical ID known for the name.
+     * @return The node or null if the ID is no longer valid.
+     */
+    private Node getNodeOf(QualifiedName qn, NumericPhysicalNodeID id) {
+        final Node node;
+        try {
+            node = getNodeById(id);
+        } catch (NotFoundException e) {
+            return null;
+        }
+        return qn.toURI().equals(node.getProperty(NeoConstants.PROPERTY_URI, null)) ? node : null;
+    }
+
+    private Node getNodeById(NumericPhysicalNodeID id) {
+        final long mark = metrics.start();
+        try {
+            return gdbService.getNodeById(id.asLong());
+        } finally {
+            metrics.stop(NeoMetrics.Timer.NODE_LOAD, mark);
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Iterator over incoming relationships, skipping inline values (loops on the subject node) and
+     * generic references with another predicate.
+     */
+    private static class IncomingReferences implements Iterator<Relationship> {
+
+        private final Iterator<Iterator<Relationship>> sources;
+
+        private final String predicateURI;
+
+        private final UriDictionary dictionary;
+
+        private Iterator<Relationship> current;
+
+        private Relationship next;
+
+        private IncomingReferences(List<Iterator<Relationship>> sources, String predicateURI, UriDictionary dictionary) {
+            this.sources = sources.iterator();
+            this.predicateURI = predicateURI;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (current == null || !current.hasNext()) {
+                    if (!sources.hasNext()) {
+                        return false;
+                    }
+                    current = sources.next();
+                }
+                final Relationship rel = current.next();
+                if (RelationshipLayout.isReference(rel) && (predicateURI == null
+                        || predicateURI.equals(RelationshipLayout.getPredicateURI(rel, dictionary)))) {
+                    next = rel;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Relationship next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Relationship result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
 }
@@ -0,0 +1,471 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.bindings.neo4j.metrics.HubNodeDetector;
+import org.arastreju.bindings.neo4j.metrics.JmxNeoMetrics;
+import org.arastreju.bindings.neo4j.metrics.NeoMetricsFactory;
+import org.arastreju.sge.ArastrejuProfile;
+
+/**
+ * <p>
+ *  Configuration of a {@link NeoGraphDataStore}. The settings can be defined as properties of
+ *  the {@link ArastrejuProfile}.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class NeoStoreConfiguration {
+
+    /**
+     * Maximum number of entries in the cache in front of the key table. 0 disables the cache.
+     */
+    public static final String KEY_CACHE_SIZE = "org.arastreju.neo4j.key-cache-size";
+
+    public static final int DEFAULT_KEY_CACHE_SIZE = 10000;
+
+    /**
+     * Implementation of the key table: {@link #KEY_TABLE_LUCENE} (default) or {@link #KEY_TABLE_MAPPED}.
+     * Switching an existing store to the mapped key table requires a {@link KeyTableMigration}.
+     */
+    public static final String KEY_TABLE = "org.arastreju.neo4j.key-table";
+
+    public static final String KEY_TABLE_LUCENE = "lucene";
+
+    /**
+     * See {@link MappedNodeKeyTable}.
+     */
+    public static final String KEY_TABLE_MAPPED = "mapped";
+
+    /**
+     * If true (default), the {@link MappedNodeKeyTable} is forced to disk before each commit that changed it,
+     * so that no entry of a committed node is lost by a crash of the operating system.
+     */
+    public static final String KEY_TABLE_FORCE = "org.arastreju.neo4j.key-table-force";
+
+    /**
+     * If true, new statements are stored as relationships typed by their predicate.
+     */
+    public static final String PREDICATE_TYPED_RELATIONSHIPS = "org.arastreju.neo4j.predicate-typed-relationships";
+
+    /**
+     * If true, predicate and context URIs of new statements are stored as IDs of the {@link UriDictionary}.
+     */
+    public static final String INTERNED_URIS = "org.arastreju.neo4j.interned-uris";
+
+    /**
+     * If true, the objects of resolved associations are not attached to the working context when resolved.
+     * Objects not yet attached attach themselves when their associations are accessed.
+     */
+    public static final String LAZY_RESOLVE = "org.arastreju.neo4j.lazy-resolve";
+
+    /**
+     * If true, the relationships of new statements are added to the {@link StatementIndex}.
+     * An existing index is deleted when the store is opened with this setting disabled.
+     */
+    public static final String STATEMENT_INDEX = "org.arastreju.neo4j.statement-index";
+
+    /**
+     * If true, value nodes are shared by all statements with the same literal. See {@link LiteralIndex}.
+     */
+    public static final String INTERNED_LITERALS = "org.arastreju.neo4j.interned-literals";
+
+    /**
+     * Literals with a string value up to this length are stored inline in their relationship. 0 disables inlining.
+     */
+    public static final String INLINE_LITERAL_MAX_LENGTH = "org.arastreju.neo4j.inline-literal-max-length";
+
+    /**
+     * If true, literals are stored as native values with coded datatype and locale. See {@link LiteralCodec}.
+     */
+    public static final String TYPED_LITERALS = "org.arastreju.neo4j.typed-literals";
+
+    /**
+     * If true, the bytes allocated while resolving associations are measured and exposed via JMX, see
+     * {@link JmxNeoMetrics}. Implies {@link #METRICS}, requires a HotSpot JVM.
+     */
+    public static final String ALLOCATION_METRICS = "org.arastreju.neo4j.allocation-metrics";
+
+    /**
+     * If true, writes are buffered per transaction and applied on flush or commit. See {@link NeoWriteBuffer}.
+     */
+    public static final String WRITE_BEHIND = "org.arastreju.neo4j.write-behind";
+
+    /**
+     * Window in milliseconds in which buffered writes of several conversations are committed together.
+     * 0 disables group commit, a positive value implies {@link #WRITE_BEHIND}.
+     */
+    public static final String GROUP_COMMIT_WINDOW = "org.arastreju.neo4j.group-commit-window";
+
+    /**
+     * If true (default), a commit waits until its buffered writes have been group committed.
+     * If false, it returns as soon as they are queued, failures of the group commit are logged only. Other
+     * transactions may then change the graph before the queued writes are applied: if a resource referenced by
+     * a queued statement has been removed in the meantime, all queued writes of that transaction are discarded.
+     * Can be overridden for the gates of a single storage by appending '.' and the storage's name.
+     */
+    public static final String GROUP_COMMIT_DURABLE = "org.arastreju.neo4j.group-commit-durable";
+
+    /**
+     * If true, Neo4j transactions are not begun before the first write, so read only transactions are almost free.
+     */
+    public static final String LAZY_TRANSACTIONS = "org.arastreju.neo4j.lazy-transactions";
+
+    /**
+     * If true, latencies of the store's hot paths are recorded and exposed via JMX. See {@link JmxNeoMetrics}.
+     */
+    public static final String METRICS = "org.arastreju.neo4j.metrics";
+
+    /**
+     * Class name of a {@link NeoMetricsFactory} creating the metrics of the store instead of {@link JmxNeoMetrics}.
+     * Implies {@link #METRICS}.
+     */
+    public static final String METRICS_FACTORY = "org.arastreju.neo4j.metrics-factory";
+
+    /**
+     * Scans of more relationships of a node are recorded by the {@link HubNodeDetector}. 0 disables this limit.
+     */
+    public static final String HUB_NODE_DEGREE_THRESHOLD = "org.arastreju.neo4j.hub-node-degree-threshold";
+
+    /**
+     * Scans of the relationships of a node taking longer than this number of milliseconds are recorded by
+     * the {@link HubNodeDetector}. 0 disables this limit.
+     */
+    public static final String SLOW_SCAN_THRESHOLD = "org.arastreju.neo4j.slow-scan-threshold";
+
+    /**
+     * Number of detections kept by the {@link HubNodeDetector}.
+     */
+    public static final String HUB_NODE_CAPACITY = "org.arastreju.neo4j.hub-node-capacity";
+
+    public static final int DEFAULT_HUB_NODE_CAPACITY = 100;
+
+    /**
+     * Expected number of qualified names in the store, determining the size of the {@link QualifiedNameFilter}
+     * guarding key table lookups. 0 disables the filter.
+     */
+    public static final String QN_FILTER_SIZE = "org.arastreju.neo4j.qn-filter-size";
+
+    // ----------------------------------------------------
+
+    private int keyCacheSize = DEFAULT_KEY_CACHE_SIZE;
+
+    private String keyTable = KEY_TABLE_LUCENE;
+
+    private boolean keyTableForce = true;
+
+    private boolean predicateTypedRelationships;
+
+    private boolean internedURIs;
+
+    private boolean lazyResolve;
+
+    private boolean statementIndex;
+
+    private boolean internedLiterals;
+
+    private int inlineLiteralMaxLength;
+
+    private boolean typedLiterals;
+
+    private boolean allocationMetrics;
+
+    private boolean writeBehind;
+
+    private int groupCommitWindow;
+
+    private boolean groupCommitDurable = true;
+
+    private boolean lazyTransactions;
+
+    private boolean metrics;
+
+    private NeoMetricsFactory metricsFactory;
+
+    private int hubNodeDegreeThreshold;
+
+    private int slowScanThreshold;
+
+    private int hubNodeCapacity = DEFAULT_HUB_NODE_CAPACITY;
+
+    private int qnFilterSize;
+
+    // ----------------------------------------------------
+
+    /**
+     * Create a configuration from the properties of given profile.
+     * @param profile The profile.
+     * @return The configuration.
+     */
+    public static NeoStoreConfiguration from(ArastrejuProfile profile) {
+        return from(profile, null);
+    }
+
+    /**
+     * Create the configuration of a storage from the properties of given profile. Properties
+     * supporting an override per storage, like {@link #GROUP_COMMIT_DURABLE}, are taken from the
+     * storage specific property, if defined.
+     * @param profile The profile.
+     * @param storage The name of the storage or null.
+     * @return The configuration.
+     */
+    public static NeoStoreConfiguration from(ArastrejuProfile profile, String storage) {
+        final NeoStoreConfiguration config = new NeoStoreConfiguration();
+        config.setKeyCacheSize(getInt(profile, KEY_CACHE_SIZE, DEFAULT_KEY_CACHE_SIZE));
+        if (profile.isPropertyDefined(KEY_TABLE)) {
+            config.setKeyTable(profile.getProperty(KEY_TABLE).trim());
+        }
+        if (profile.isPropertyDefined(KEY_TABLE_FORCE)) {
+            config.setKeyTableForce(getBoolean(profile, KEY_TABLE_FORCE));
+        }
+        config.setPredicateTypedRelationships(getBoolean(profile, PREDICATE_TYPED_RELATIONSHIPS));
+        config.setInternedURIs(getBoolean(profile, INTERNED_URIS));
+        config.setLazyResolve(getBoolean(profile, LAZY_RESOLVE));
+        config.setStatementIndex(getBoolean(profile, STATEMENT_INDEX));
+        config.setInternedLiterals(getBoolean(profile, INTERNED_LITERALS));
+        config.setInlineLiteralMaxLength(getInt(profile, INLINE_LITERAL_MAX_LENGTH, 0));
+        config.setTypedLiterals(getBoolean(profile, TYPED_LITERALS));
+        config.setAllocationMetrics(getBoolean(profile, ALLOCATION_METRICS));
+        config.setWriteBehind(getBoolean(profile, WRITE_BEHIND));
+        config.setGroupCommitWindow(getInt(profile, GROUP_COMMIT_WINDOW, 0));
+        if (storage != null && profile.isPropertyDefined(GROUP_COMMIT_DURABLE + "." + storage)) {
+            config.setGroupCommitDurable(getBoolean(profile, GROUP_COMMIT_DURABLE + "." + storage));
+        } else if (profile.isPropertyDefined(GROUP_COMMIT_DURABLE)) {
+            config.setGroupCommitDurable(getBoolean(profile, GROUP_COMMIT_DURABLE));
+        }
+        config.setLazyTransactions(getBoolean(profile, LAZY_TRANSACTIONS));
+        config.setMetrics(getBoolean(profile, METRICS));
+        if (profile.isPropertyDefined(METRICS_FACTORY)) {
+            config.setMetricsFactory(createMetricsFactory(profile.getProperty(METRICS_FACTORY).trim()));
+        }
+        config.setHubNodeDegreeThreshold(getInt(profile, HUB_NODE_DEGREE_THRESHOLD, 0));
+        config.setSlowScanThreshold(getInt(profile, SLOW_SCAN_THRESHOLD, 0));
+        config.setHubNodeCapacity(getInt(profile, HUB_NODE_CAPACITY, DEFAULT_HUB_NODE_CAPACITY));
+        config.setQnFilterSize(getInt(profile, QN_FILTER_SIZE, 0));
+        return config;
+    }
+
+    // ----------------------------------------------------
+
+    public int getKeyCacheSize() {
+        return keyCacheSize;
+    }
+
+    public void setKeyCacheSize(int keyCacheSize) {
+        this.keyCacheSize = keyCacheSize;
+    }
+
+    public String getKeyTable() {
+        return keyTable;
+    }
+
+    public void setKeyTable(String keyTable) {
+        if (!KEY_TABLE_LUCENE.equals(keyTable) && !KEY_TABLE_MAPPED.equals(keyTable)) {
+            throw new IllegalArgumentException("Invalid value for profile property " + KEY_TABLE + ": " + keyTable);
+        }
+        this.keyTable = keyTable;
+    }
+
+    public boolean isKeyTableForce() {
+        return keyTableForce;
+    }
+
+    public void setKeyTableForce(boolean keyTableForce) {
+        this.keyTableForce = keyTableForce;
+    }
+
+    public boolean isPredicateTypedRelationships() {
+        return predicateTypedRelationships;
+    }
+
+    public void setPredicateTypedRelationships(boolean predicateTypedRelationships) {
+        this.predicateTypedRelationships = predicateTypedRelationships;
+    }
+
+    public boolean isInternedURIs() {
+        return internedURIs;
+    }
+
+    public void setInternedURIs(boolean internedURIs) {
+        this.internedURIs = internedURIs;
+    }
+
+    public boolean isLazyResolve() {
+        return lazyResolve;
+    }
+
+    public void setLazyResolve(boolean lazyResolve) {
+        this.lazyResolve = lazyResolve;
+    }
+
+    public boolean isStatementIndex() {
+        return statementIndex;
+    }
+
+    public void setStatementIndex(boolean statementIndex) {
+        this.statementIndex = statementIndex;
+    }
+
+    public boolean isInternedLiterals() {
+        return internedLiterals;
+    }
+
+    public void setInternedLiterals(boolean internedLiterals) {
+        this.internedLiterals = internedLiterals;
+    }
+
+    public int getInlineLiteralMaxLength() {
+        return inlineLiteralMaxLength;
+    }
+
+    public void setInlineLiteralMaxLength(int inlineLiteralMaxLength) {
+        this.inlineLiteralMaxLength = inlineLiteralMaxLength;
+    }
+
+    public boolean isTypedLiterals() {
+        return typedLiterals;
+    }
+
+    public void setTypedLiterals(boolean typedLiterals) {
+        this.typedLiterals = typedLiterals;
+    }
+
+    public boolean isAllocationMetrics() {
+        return allocationMetrics;
+    }
+
+    public void setAllocationMetrics(boolean allocationMetrics) {
+        this.allocationMetrics = allocationMetrics;
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind || isGroupCommit();
+    }
+
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public boolean isGroupCommit() {
+        return groupCommitWindow > 0;
+    }
+
+    public int getGroupCommitWindow() {
+        return groupCommitWindow;
+    }
+
+    public void setGroupCommitWindow(int groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+    }
+
+    public boolean isGroupCommitDurable() {
+        return groupCommitDurable;
+    }
+
+    public void setGroupCommitDurable(boolean groupCommitDurable) {
+        this.groupCommitDurable = groupCommitDurable;
+    }
+
+    public boolean isLazyTransactions() {
+        return lazyTransactions;
+    }
+
+    public void setLazyTransactions(boolean lazyTransactions) {
+        this.lazyTransactions = lazyTransactions;
+    }
+
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(boolean metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return The factory of the store's metrics or null for {@link JmxNeoMetrics}, if enabled.
+     */
+    public NeoMetricsFactory getMetricsFactory() {
+        return metricsFactory;
+    }
+
+    public void setMetricsFactory(NeoMetricsFactory metricsFactory) {
+        this.metricsFactory = metricsFactory;
+    }
+
+    public int getHubNodeDegreeThreshold() {
+        return hubNodeDegreeThreshold;
+    }
+
+    public void setHubNodeDegreeThreshold(int hubNodeDegreeThreshold) {
+        this.hubNodeDegreeThreshold = hubNodeDegreeThreshold;
+    }
+
+    public int getSlowScanThreshold() {
+        return slowScanThreshold;
+    }
+
+    public void setSlowScanThreshold(int slowScanThreshold) {
+        this.slowScanThreshold = slowScanThreshold;
+    }
+
+    public int getHubNodeCapacity() {
+        return hubNodeCapacity;
+    }
+
+    public void setHubNodeCapacity(int hubNodeCapacity) {
+        this.hubNodeCapacity = hubNodeCapacity;
+    }
+
+    public int getQnFilterSize() {
+        return qnFilterSize;
+    }
+
+    public void setQnFilterSize(int qnFilterSize) {
+        this.qnFilterSize = qnFilterSize;
+    }
+
+    // ----------------------------------------------------
+
+    private static boolean getBoolean(ArastrejuProfile profile, String key) {
+        return profile.isPropertyDefined(key) && Boolean.parseBoolean(profile.getProperty(key).trim());
+    }
+
+    private static int getInt(ArastrejuProfile profile, String key, int defaultValue) {
+        if (!profile.isPropertyDefined(key)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(profile.getProperty(key).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for profile property " + key, e);
+        }
+    }
+
+    private static NeoMetricsFactory createMetricsFactory(String className) {
+        try {
+            return (NeoMetricsFactory) Class.forName(className).newInstance();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid value for profile property " + METRICS_FACTORY, e);
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.SNOPS;
+import org.arastreju.sge.context.Context;
+import org.arastreju.sge.model.Statement;
+import org.arastreju.sge.naming.QualifiedName;
+import org.neo4j.graphdb.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *  Transaction scoped buffer for the operations of a {@link NeoAssociationWriter}. The operations are grouped
+ *  by subject, an addition and a removal of the same statement cancel each other out. On flush the buffered
+ *  operations are applied subject by subject, looking up each subject's neo node only once. Removing a resource
+ *  is not buffered, the buffered operations involving it are discarded then.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class NeoWriteBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NeoWriteBuffer.class);
+
+    private final NeoGraphDataStore store;
+
+    private final Map<QualifiedName, Map<String, Operation>> operations = new LinkedHashMap<QualifiedName, Map<String, Operation>>();
+
+    private NeoAssociationWriter writer;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param store The store.
+     */
+    public NeoWriteBuffer(NeoGraphDataStore store) {
+        this.store = store;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Buffer the addition of a statement.
+     * @param stmt The statement.
+     * @param contexts The contexts the statement shall be assigned to.
+     */
+    public synchronized void add(Statement stmt, Context[] contexts) {
+        enqueue(new Operation(stmt, contexts, true));
+    }
+
+    /**
+     * Buffer the removal of a statement.
+     * @param stmt The statement.
+     */
+    public synchronized void remove(Statement stmt) {
+        enqueue(new Operation(stmt, null, false));
+    }
+
+    /**
+     * Discard all buffered operations of a resource that is removed directly: operations on its statements
+     * and on statements referring to it. Applied later, they would refer to a node that no longer exists.
+     * @param qn The qualified name of the removed resource.
+     */
+    public synchronized void discard(QualifiedName qn) {
+        final Map<String, Operation> subjectOps = operations.remove(qn);
+        int discarded = subjectOps != null ? subjectOps.size() : 0;
+        final Iterator<Map<String, Operation>> subjects = operations.values().iterator();
+        while (subjects.hasNext()) {
+            final Map<String, Operation> ops = subjects.next();
+            final Iterator<Operation> it = ops.values().iterator();
+            while (it.hasNext()) {
+                final Operation op = it.next();
+                if (op.stmt.getObject().isResourceNode() && qn.equals(op.stmt.getObject().asResource().getQualifiedName())) {
+                    it.remove();
+                    discarded++;
+                }
+            }
+            if (ops.isEmpty()) {
+                subjects.remove();
+            }
+        }
+        if (discarded > 0) {
+            LOGGER.debug("Discarded {} buffered operations of removed resource {}.", discarded, qn);
+        }
+    }
+
+    /**
+     * Apply all buffered operations in the current transaction.
+     */
+    public synchronized void flush() {
+        if (!operations.isEmpty()) {
+            drain().apply();
+        }
+    }
+
+    /**
+     * Take all buffered operations out of the buffer, to be applied later, possibly by another thread.
+     * @return The pending writes.
+     */
+    public synchronized PendingWrites drain() {
+        final PendingWrites pending = new PendingWrites(store, writer,
+                new LinkedHashMap<QualifiedName, Map<String, Operation>>(operations));
+        operations.clear();
+        return pending;
+    }
+
+    /**
+     * Discard all buffered operations, e.g. on roll back.
+     */
+    public synchronized void clear() {
+        operations.clear();
+    }
+
+    /**
+     * @return true if there are no buffered operations.
+     */
+    public synchronized boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Bind the writer applying the operations.
+     * @param writer The writer.
+     */
+    void bind(NeoAssociationWriter writer) {
+        this.writer = writer;
+    }
+
+    // ----------------------------------------------------
+
+    private void enqueue(Operation op) {
+        final QualifiedName subject = op.stmt.getSubject().getQualifiedName();
+        Map<String, Operation> subjectOps = operations.get(subject);
+        if (subjectOps == null) {
+            subjectOps = new LinkedHashMap<String, Operation>();
+            operations.put(subject, subjectOps);
+        }
+        final String key = op.stmt.getPredicate().toURI() + '\u0000' + SNOPS.string(op.stmt.getObject());
+        final Operation previous = subjectOps.remove(key);
+        if (previous != null && previous.isAddition != op.isAddition) {
+            LOGGER.debug("Buffered operations cancel each other out: {}", op.stmt);
+        } else {
+            subjectOps.put(key, op);
+        }
+        if (subjectOps.isEmpty()) {
+            operations.remove(subject);
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Operations drained from a buffer.
+     */
+    public static class PendingWrites {
+
+        private final NeoGraphDataStore store;
+
+        private final NeoAssociationWriter writer;
+
+        private final Map<QualifiedName, Map<String, Operation>> operations;
+
+        private PendingWrites(NeoGraphDataStore store, NeoAssociationWriter writer,
+                              Map<QualifiedName, Map<String, Operation>> operations) {
+            this.store = store;
+            this.writer = writer;
+            this.operations = operations;
+        }
+
+        /**
+         * @return true if there are no operations.
+         */
+        public boolean isEmpty() {
+            return operations.isEmpty();
+        }
+
+        /**
+         * Apply the operations in the current transaction.
+         */
+        public void apply() {
+            for (Map.Entry<QualifiedName, Map<String, Operation>> entry : operations.entrySet()) {
+                final Node subject = store.getNeoNode(entry.getKey());
+                if (subject == null) {
+                    LOGGER.warn("Subject {} has been removed, discarding {} buffered operations.",
+                            entry.getKey(), entry.getValue().size());
+                    continue;
+                }
+                for (Operation op : entry.getValue().values()) {
+                    if (op.isAddition) {
+                        writer.applyCreate(subject, op.stmt, op.contexts);
+                    } else {
+                        writer.applyRemove(subject, op.stmt);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Operation {
+
+        private final Statement stmt;
+
+        private final Context[] contexts;
+
+        private final boolean isAddition;
+
+        private Operation(Statement stmt, Context[] contexts, boolean addition) {
+            this.stmt = stmt;
+            this.contexts = contexts;
+            this.isAddition = addition;
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.EmbeddedGraphDatabase;
+import org.neo4j.tooling.GlobalGraphOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ *  Migrates all statement relationships of a store from the generic layout (type VALUE or REFERENCE
+ *  with a predicate property) to the predicate typed layout. See {@link RelationshipLayout}.
+ * </p>
+ *
+ * <p>
+ *  Usage: <code>PredicateTypeMigration &lt;store directory&gt;</code>. The store must not be opened
+ *  by any other process during the migration.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class PredicateTypeMigration implements NeoConstants {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PredicateTypeMigration.class);
+
+    private static final int BATCH_SIZE = 10000;
+
+    private final GraphDatabaseService gdbService;
+
+    private final UriDictionary dictionary;
+
+    private final LiteralCodec codec;
+
+    private final StatementIndex statementIndex;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param gdbService The graph database to be migrated.
+     * @param dictionary The store's URI dictionary.
+     */
+    public PredicateTypeMigration(GraphDatabaseService gdbService, UriDictionary dictionary) {
+        this.gdbService = gdbService;
+        this.dictionary = dictionary;
+        this.codec = new LiteralCodec(dictionary, false);
+        this.statementIndex = new StatementIndex(gdbService, dictionary, codec);
+    }
+
+    // ----------------------------------------------------
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PredicateTypeMigration <store directory>");
+            System.exit(1);
+        }
+        final GraphDatabaseService gdb = new EmbeddedGraphDatabase(args[0]);
+        final UriDictionary dictionary = new UriDictionary(args[0]);
+        try {
+            final int migrated = new PredicateTypeMigration(gdb, dictionary).migrate();
+            System.out.println("Migrated " + migrated + " relationships.");
+        } finally {
+            dictionary.close();
+            gdb.shutdown();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Migrate all relationships in generic layout.
+     * @return The number of migrated relationships.
+     */
+    public int migrate() {
+        final long[] ids = collectGenericRelationships();
+        LOGGER.info("Found {} relationships to be migrated.", ids.length);
+        for (int start = 0; start < ids.length; start += BATCH_SIZE) {
+            final int end = Math.min(start + BATCH_SIZE, ids.length);
+            final Transaction tx = gdbService.beginTx();
+            try {
+                for (int i = start; i < end; i++) {
+                    migrate(gdbService.getRelationshipById(ids[i]));
+                }
+                tx.success();
+            } finally {
+                tx.finish();
+            }
+            LOGGER.info("Migrated {} of {} relationships.", end, ids.length);
+        }
+        return ids.length;
+    }
+
+    // ----------------------------------------------------
+
+    private long[] collectGenericRelationships() {
+        long[] ids = new long[1024];
+        int count = 0;
+        for (Relationship rel : GlobalGraphOperations.at(gdbService).getAllRelationships()) {
+            if (RelationshipLayout.isGeneric(rel)) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = rel.getId();
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private void migrate(Relationship rel) {
+        final String predicate = RelationshipLayout.getPredicateURI(rel, dictionary);
+        final byte kind = RelationshipLayout.kindOf(rel);
+        final Relationship migrated = rel.getStartNode().createRelationshipTo(rel.getEndNode(), RelationshipLayout.typeOf(predicate));
+        for (String key : rel.getPropertyKeys()) {
+            if (!PREDICATE_URI.equals(key) && !PREDICATE_ID.equals(key)) {
+                migrated.setProperty(key, rel.getProperty(key));
+            }
+        }
+        migrated.setProperty(RELATIONSHIP_KIND, kind);
+        final String object = RelationshipLayout.getObjectString(rel, codec);
+        if (statementIndex.find(rel.getStartNode(), predicate, object) != null) {
+            statementIndex.add(migrated, predicate, object);
+        }
+        statementIndex.remove(rel);
+        rel.delete();
+    }
+
+}
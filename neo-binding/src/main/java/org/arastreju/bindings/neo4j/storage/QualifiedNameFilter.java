@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.tooling.GlobalGraphOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ *  Bloom filter of the qualified names known to a store. A lookup of a name not contained in the filter
+ *  is a definite miss and doesn't need to query the key table. Names are added on create but can't be
+ *  removed, so removed names only cause a false positive, i.e. a key table lookup.
+ * </p>
+ *
+ * <p>
+ *  The filter is saved to the file <code>qn-filter</code> on close. While the store is open the file is
+ *  marked dirty, so that after a crash the filter is rebuilt from the URIs of all nodes. Tools writing to
+ *  the key table, like the {@link NeoBulkLoader}, and stores opened without the filter delete the file
+ *  by {@link #invalidate(String)}, as the names they create would be missing in it.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class QualifiedNameFilter implements NeoConstants {
+
+    public static final String FILE = "qn-filter";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QualifiedNameFilter.class);
+
+    private static final int MAGIC = 0x41524246;
+
+    private static final int VERSION = 2;
+
+    // offset of the clean flag in the file: after magic, version, number of bits and number of hashes
+    private static final int CLEAN_FLAG_OFFSET = 20;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final File file;
+
+    private final AtomicLongArray words;
+
+    private final long numBits;
+
+    private final int numHashes;
+
+    // ----------------------------------------------------
+
+    /**
+     * Open the filter of a store. It is loaded from its file if it has been closed cleanly with
+     * the same size, otherwise it is rebuilt from the graph.
+     * @param dir The store directory.
+     * @param expectedNames The expected number of qualified names, determining the filter's size.
+     * @param gdbService The graph database to rebuild the filter from.
+     * @return The filter.
+     * @throws IOException if the file can't be read or written.
+     */
+    public static QualifiedNameFilter open(String dir, int expectedNames, GraphDatabaseService gdbService) throws IOException {
+        final QualifiedNameFilter filter = new QualifiedNameFilter(new File(dir, FILE), expectedNames);
+        if (!filter.load()) {
+            filter.rebuild(gdbService);
+        }
+        filter.markDirty();
+        return filter;
+    }
+
+    /**
+     * Delete the filter file of a store, so that it will be rebuilt when the store is opened with the filter.
+     * To be called by tools writing to the key table directly and by stores opened without the filter.
+     * @param dir The store directory.
+     */
+    public static void invalidate(String dir) {
+        final File file = new File(dir, FILE);
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("Could not delete {}, it will be rebuilt on next open.", file);
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private QualifiedNameFilter(File file, int expectedNames) {
+        this.file = file;
+        final int n = Math.max(1, expectedNames);
+        final double bits = -n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2));
+        final int numWords = (int) Math.min(Integer.MAX_VALUE / 64, Math.ceil(bits / 64));
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = numWords * 64L;
+        this.numHashes = Math.max(1, (int) Math.round(numBits / (double) n * Math.log(2)));
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @param qn The qualified name.
+     * @return false if the name is definitely not known, true if it might be known.
+     */
+    public boolean mightContain(QualifiedName qn) {
+        final long h1 = Fnv64.hash(qn.toURI());
+        final long h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add a qualified name.
+     * @param qn The qualified name.
+     */
+    public void add(QualifiedName qn) {
+        final long h1 = Fnv64.hash(qn.toURI());
+        final long h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            final long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numBits;
+            final int index = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * Save the filter and mark it clean.
+     * @throws IOException if the file can't be written.
+     */
+    public void close() throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(numBits);
+            out.writeInt(numHashes);
+            out.writeBoolean(false);
+            for (int i = 0; i < words.length(); i++) {
+                out.writeLong(words.get(i));
+            }
+        } finally {
+            out.close();
+        }
+        // The clean flag is set after all words have been written.
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(CLEAN_FLAG_OFFSET);
+            raf.writeBoolean(true);
+        } finally {
+            raf.close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private boolean load() throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != numBits
+                    || in.readInt() != numHashes || !in.readBoolean()) {
+                return false;
+            }
+            for (int i = 0; i < words.length(); i++) {
+                words.set(i, in.readLong());
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {}: {}", file, e.getMessage());
+            return false;
+        } finally {
+            in.close();
+        }
+    }
+
+    private void rebuild(GraphDatabaseService gdbService) {
+        int count = 0;
+        for (Node node : GlobalGraphOperations.at(gdbService).getAllNodes()) {
+            final Object uri = node.getProperty(PROPERTY_URI, null);
+            if (uri != null) {
+                add(QualifiedName.create(uri.toString()));
+                count++;
+            }
+        }
+        LOGGER.info("Rebuilt qualified name filter from {} nodes.", count);
+    }
+
+    private void markDirty() throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            if (raf.length() > CLEAN_FLAG_OFFSET) {
+                raf.seek(CLEAN_FLAG_OFFSET);
+                raf.writeBoolean(false);
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Finalizer of MurmurHash3, deriving a second independent hash.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1;
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.context.Context;
+
+import java.util.BitSet;
+
+/**
+ * <p>
+ *  Filter for statements by their contexts, based on the IDs of the contexts in the {@link UriDictionary}.
+ *  The read contexts of a conversation are converted once into a bit set, so that checking a statement
+ *  does not need to compare contexts or allocate any objects.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+class ReadContextFilter {
+
+    private final BitSet readContexts = new BitSet();
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param readContexts The read contexts of the conversation.
+     * @param dictionary The dictionary of the store.
+     */
+    ReadContextFilter(Context[] readContexts, UriDictionary dictionary) {
+        for (Context ctx : readContexts) {
+            final int id = dictionary.lookup(ctx.toURI());
+            if (id != UriDictionary.UNKNOWN) {
+                this.readContexts.set(id);
+            }
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Check if a statement with given context IDs shall be regarded.
+     * @param ctxIds The IDs of the statement's contexts.
+     * @return true if the statement has no context or at least one of its contexts is a read context.
+     */
+    boolean accepts(int[] ctxIds) {
+        if (ctxIds.length == 0) {
+            return true;
+        }
+        for (int id : ctxIds) {
+            if (readContexts.get(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.model.nodes.ValueNode;
+import org.arastreju.sge.naming.QualifiedName;
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *  Knows the two physical layouts of statement relationships:
+ *  <ul>
+ *      <li>generic: type {@link NeoConstants.ArasRelationshipType} and the predicate as property</li>
+ *      <li>predicate typed: the predicate URI is the relationship type, the kind is a property</li>
+ *  </ul>
+ *  Both layouts may coexist in one store. In both layouts short literals may be stored inline, i.e. as
+ *  properties of a relationship from the subject to itself.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+final class RelationshipLayout implements NeoConstants {
+
+    private static final ConcurrentMap<String, RelationshipType> TYPES = new ConcurrentHashMap<String, RelationshipType>();
+
+    // ----------------------------------------------------
+
+    private RelationshipLayout() {
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @param predicateURI The predicate's URI.
+     * @return The relationship type used for this predicate in the predicate typed layout.
+     */
+    static RelationshipType typeOf(String predicateURI) {
+        RelationshipType type = TYPES.get(predicateURI);
+        if (type == null) {
+            type = DynamicRelationshipType.withName(predicateURI);
+            TYPES.putIfAbsent(predicateURI, type);
+        }
+        return type;
+    }
+
+    /**
+     * @param kind The kind of a relationship.
+     * @return The relationship type used for this kind in the generic layout.
+     */
+    static RelationshipType genericType(byte kind) {
+        switch (kind) {
+            case KIND_REFERENCE:
+                return ArasRelationshipType.REFERENCE;
+            case KIND_INLINE_VALUE:
+                return ArasRelationshipType.INLINE_VALUE;
+            default:
+                return ArasRelationshipType.VALUE;
+        }
+    }
+
+    /**
+     * @param value The value of a statement.
+     * @param config The store configuration.
+     * @return true if the value shall be stored inline in its relationship.
+     */
+    static boolean isInlineCandidate(ValueNode value, NeoStoreConfiguration config) {
+        final int maxLength = config.getInlineLiteralMaxLength();
+        return maxLength > 0 && value.getStringValue().length() <= maxLength;
+    }
+
+    /**
+     * @param rel The relationship.
+     * @return true if the relationship is stored in the generic layout.
+     */
+    static boolean isGeneric(Relationship rel) {
+        return rel.isType(ArasRelationshipType.REFERENCE) || rel.isType(ArasRelationshipType.VALUE)
+                || rel.isType(ArasRelationshipType.INLINE_VALUE);
+    }
+
+    /**
+     * @param rel The relationship.
+     * @return The kind of the relationship: {@link #KIND_VALUE}, {@link #KIND_REFERENCE} or {@link #KIND_INLINE_VALUE}.
+     */
+    static byte kindOf(Relationship rel) {
+        if (rel.isType(ArasRelationshipType.REFERENCE)) {
+            return KIND_REFERENCE;
+        } else if (rel.isType(ArasRelationshipType.VALUE)) {
+            return KIND_VALUE;
+        } else if (rel.isType(ArasRelationshipType.INLINE_VALUE)) {
+            return KIND_INLINE_VALUE;
+        }
+        return (Byte) rel.getProperty(RELATIONSHIP_KIND, KIND_VALUE);
+    }
+
+    /**
+     * @param rel The relationship.
+     * @return true if the relationship points to a resource node.
+     */
+    static boolean isReference(Relationship rel) {
+        return kindOf(rel) == KIND_REFERENCE;
+    }
+
+    /**
+     * @param rel The relationship.
+     * @return true if the relationship points to a value node.
+     */
+    static boolean isValue(Relationship rel) {
+        return kindOf(rel) == KIND_VALUE;
+    }
+
+    /**
+     * @param rel The relationship.
+     * @return true if the relationship holds the literal itself.
+     */
+    static boolean isInlineValue(Relationship rel) {
+        return kindOf(rel) == KIND_INLINE_VALUE;
+    }
+
+    /**
+     * @param rel The relationship.
+     * @param codec The codec for literals.
+     * @return The URI of a referenced resource or the string value of a value, null if not set.
+     */
+    static String getObjectString(Relationship rel, LiteralCodec codec) {
+        switch (kindOf(rel)) {
+            case KIND_REFERENCE:
+                return (String) rel.getEndNode().getProperty(PROPERTY_URI, null);
+            case KIND_INLINE_VALUE:
+                return codec.getStringValue(rel);
+            default:
+                return codec.getStringValue(rel.getEndNode());
+        }
+    }
+
+    /**
+     * @param rel The relationship.
+     * @param dictionary The store's URI dictionary.
+     * @return The URI of the predicate represented by this relationship.
+     */
+    static String getPredicateURI(Relationship rel, UriDictionary dictionary) {
+        if (!isGeneric(rel)) {
+            return rel.getType().name();
+        } else if (rel.hasProperty(PREDICATE_ID)) {
+            return dictionary.getURI((Integer) rel.getProperty(PREDICATE_ID));
+        } else {
+            return (String) rel.getProperty(PREDICATE_URI);
+        }
+    }
+
+    /**
+     * @param rel The relationship.
+     * @param dictionary The store's URI dictionary.
+     * @return The qualified name of the predicate represented by this relationship.
+     */
+    static QualifiedName getPredicate(Relationship rel, UriDictionary dictionary) {
+        if (isGeneric(rel) && rel.hasProperty(PREDICATE_ID)) {
+            return dictionary.getQualifiedName((Integer) rel.getProperty(PREDICATE_ID));
+        }
+        final String uri = getPredicateURI(rel, dictionary);
+        final int id = dictionary.lookup(uri);
+        if (id != UriDictionary.UNKNOWN) {
+            return dictionary.getQualifiedName(id);
+        } else {
+            return QualifiedName.create(uri);
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.graphdb.index.RelationshipIndex;
+
+/**
+ * <p>
+ *  Neo4j relationship index locating the relationship of a statement by subject, predicate and object.
+ *  The relationships are indexed by a hash of predicate and object, the subject is given as start node
+ *  of the query. Hash collisions are resolved by comparing the candidates.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class StatementIndex {
+
+    public static final String INDEX_NAME = "aras-statements";
+
+    private static final String KEY = "statement";
+
+    private final GraphDatabaseService gdbService;
+
+    private final UriDictionary dictionary;
+
+    private final LiteralCodec codec;
+
+    private volatile RelationshipIndex index;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor.
+     * @param gdbService The graph database service.
+     * @param dictionary The store's URI dictionary.
+     * @param codec The codec for literals.
+     */
+    public StatementIndex(GraphDatabaseService gdbService, UriDictionary dictionary, LiteralCodec codec) {
+        this.gdbService = gdbService;
+        this.dictionary = dictionary;
+        this.codec = codec;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Add a statement's relationship to the index.
+     * @param rel The relationship.
+     * @param predicateURI The URI of the statement's predicate.
+     * @param object The string representation of the statement's object.
+     */
+    public void add(Relationship rel, String predicateURI, String object) {
+        getIndex().add(rel, KEY, key(predicateURI, object));
+    }
+
+    /**
+     * Find the relationship of a statement.
+     * @param subject The subject's neo node.
+     * @param predicateURI The URI of the statement's predicate.
+     * @param object The string representation of the statement's object.
+     * @return The relationship or null if not indexed.
+     */
+    public Relationship find(Node subject, String predicateURI, String object) {
+        if (!exists()) {
+            return null;
+        }
+        final IndexHits<Relationship> hits = getIndex().get(KEY, key(predicateURI, object), subject, null);
+        try {
+            for (Relationship rel : hits) {
+                if (predicateURI.equals(RelationshipLayout.getPredicateURI(rel, dictionary))
+                        && object.equals(RelationshipLayout.getObjectString(rel, codec))) {
+                    return rel;
+                }
+            }
+            return null;
+        } finally {
+            hits.close();
+        }
+    }
+
+    /**
+     * Remove a relationship from the index.
+     * @param rel The relationship.
+     */
+    public void remove(Relationship rel) {
+        if (exists()) {
+            getIndex().remove(rel);
+        }
+    }
+
+    /**
+     * Delete the index if it exists. Called when the store is opened without statement index, as the index
+     * would contain relationships deleted in the meantime when enabled again.
+     */
+    public void drop() {
+        if (!gdbService.index().existsForRelationships(INDEX_NAME)) {
+            return;
+        }
+        final Transaction tx = gdbService.beginTx();
+        try {
+            gdbService.index().forRelationships(INDEX_NAME).delete();
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        index = null;
+    }
+
+    // ----------------------------------------------------
+
+    private boolean exists() {
+        return index != null || gdbService.index().existsForRelationships(INDEX_NAME);
+    }
+
+    private RelationshipIndex getIndex() {
+        if (index == null) {
+            index = gdbService.index().forRelationships(INDEX_NAME);
+        }
+        return index;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of predicate and object.
+     */
+    private static String key(String predicateURI, String object) {
+        return Long.toHexString(Fnv64.hash(Fnv64.separate(Fnv64.hash(predicateURI)), object));
+    }
+
+}
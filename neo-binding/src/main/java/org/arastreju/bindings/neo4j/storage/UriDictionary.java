@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.storage;
+
+import org.arastreju.sge.naming.QualifiedName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *  Store level dictionary mapping predicate and context URIs to small integer IDs.
+ *  The IDs are assigned in ascending order and never change. The dictionary is persisted
+ *  in an append only file, the reverse mapping is held in an array on the heap. New entries are
+ *  forced to disk before their ID is returned, so no committed transaction can reference a lost ID.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class UriDictionary {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UriDictionary.class);
+
+    public static final String FILE_NAME = "uri-dictionary";
+
+    public static final int UNKNOWN = -1;
+
+    // ----------------------------------------------------
+
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+    private volatile String[] uris = new String[64];
+
+    private volatile QualifiedName[] qualifiedNames = new QualifiedName[64];
+
+    private int size;
+
+    private final FileOutputStream fileOut;
+
+    private final DataOutputStream out;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Loads the existing entries of the dictionary in given store directory.
+     * @param dir The store directory.
+     */
+    public UriDictionary(String dir) throws IOException {
+        final File file = new File(dir, FILE_NAME);
+        if (file.exists()) {
+            final long validLength = load(file);
+            if (validLength < file.length()) {
+                LOGGER.warn("Truncating incomplete entry at the end of URI dictionary {}.", file);
+                final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                try {
+                    raf.setLength(validLength);
+                } finally {
+                    raf.close();
+                }
+            }
+        } else {
+            file.getParentFile().mkdirs();
+        }
+        fileOut = new FileOutputStream(file, true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOut));
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * @param uri The URI.
+     * @return The ID of the URI or {@link #UNKNOWN}.
+     */
+    public int lookup(String uri) {
+        final Integer id = ids.get(uri);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Get the ID of given URI, adding it to the dictionary if not yet contained.
+     * @param uri The URI.
+     * @return The ID.
+     */
+    public int getOrCreate(String uri) {
+        final Integer existing = ids.get(uri);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            final Integer id = ids.get(uri);
+            if (id != null) {
+                return id;
+            }
+            try {
+                out.writeUTF(uri);
+                out.flush();
+                // New URIs are rare, syncing each of them is cheap compared to the transactions using them.
+                fileOut.getFD().sync();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write to URI dictionary.", e);
+            }
+            return register(uri);
+        }
+    }
+
+    /**
+     * @param id The ID.
+     * @return The URI with given ID.
+     */
+    public String getURI(int id) {
+        final String[] current = uris;
+        if (id >= 0 && id < current.length && current[id] != null) {
+            return current[id];
+        }
+        synchronized (this) {
+            if (id < 0 || id >= size) {
+                throw new IllegalArgumentException("Unknown URI ID: " + id);
+            }
+            return uris[id];
+        }
+    }
+
+    /**
+     * @param id The ID.
+     * @return The qualified name of the URI with given ID.
+     */
+    public QualifiedName getQualifiedName(int id) {
+        final QualifiedName[] current = qualifiedNames;
+        if (id >= 0 && id < current.length && current[id] != null) {
+            return current[id];
+        }
+        final QualifiedName qn = QualifiedName.create(getURI(id));
+        synchronized (this) {
+            if (id < qualifiedNames.length) {
+                qualifiedNames[id] = qn;
+            }
+        }
+        return qn;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Close the dictionary file.
+     */
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    // ----------------------------------------------------
+
+    private long load(File file) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        long validLength = 0;
+        try {
+            while (true) {
+                final String uri = in.readUTF();
+                register(uri);
+                // Length prefix of two bytes plus the modified UTF-8 bytes.
+                validLength += 2 + utfLength(uri);
+            }
+        } catch (EOFException e) {
+            LOGGER.debug("Loaded {} entries of URI dictionary.", size);
+        } catch (UTFDataFormatException e) {
+            // Torn entry, written partially before a crash.
+            LOGGER.debug("Loaded {} entries of URI dictionary, followed by a malformed entry.", size);
+        } finally {
+            in.close();
+        }
+        return validLength;
+    }
+
+    private synchronized int register(String uri) {
+        final int id = size++;
+        if (id >= uris.length) {
+            uris = Arrays.copyOf(uris, uris.length * 2);
+            qualifiedNames = Arrays.copyOf(qualifiedNames, uris.length);
+        }
+        uris[id] = uri;
+        ids.put(uri, id);
+        return id;
+    }
+
+    private static int utfLength(String str) {
+        int length = 0;
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length++;
+            } else if (c > 0x07FF) {
+                length += 3;
+            } else {
+                length += 2;
+            }
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.tx;
+
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer.PendingWrites;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *  Group commit of the buffered writes of many conversations. The writes submitted within a short window
+ *  are applied by a single committer thread in one physical Neo4j transaction, so that they share one
+ *  flush of the logical log. If the group transaction fails, the writes are retried one by one, so that
+ *  only the failing caller gets the error. Failures are logged, too, as a non durable caller doesn't wait
+ *  for its ticket.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class GroupCommitter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitter.class);
+
+    private static final int MAX_GROUP_SIZE = 1000;
+
+    /**
+     * Default time in seconds to wait for the commit of a ticket.
+     */
+    public static final long DEFAULT_AWAIT_SECONDS = 60;
+
+    /**
+     * Marks the end of the queue, enqueued by {@link #shutdown()}.
+     */
+    private static final Ticket SHUTDOWN = new Ticket(null);
+
+    private final GraphDatabaseService gdbService;
+
+    private final long windowMillis;
+
+    private final BlockingQueue<Ticket> queue = new LinkedBlockingQueue<Ticket>();
+
+    private final Thread committer;
+
+    private final Object lock = new Object();
+
+    private volatile boolean running = true;
+
+    // ----------------------------------------------------
+
+    /**
+     * Constructor. Starts the committer thread.
+     * @param gdbService The graph database service.
+     * @param windowMillis The time to wait for further writes after the first write of a group.
+     */
+    public GroupCommitter(GraphDatabaseService gdbService, long windowMillis) {
+        this.gdbService = gdbService;
+        this.windowMillis = windowMillis;
+        this.committer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runCommitter();
+            }
+        }, "arastreju-neo4j-group-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Submit writes to be committed with the next group.
+     * @param writes The writes.
+     * @return The ticket of the commit.
+     * @throws IllegalStateException if the committer has been shut down.
+     */
+    public Ticket submit(PendingWrites writes) {
+        final Ticket ticket = new Ticket(writes);
+        // Checked and enqueued under the lock, so that shutdown can't miss a ticket.
+        synchronized (lock) {
+            if (!running) {
+                throw new IllegalStateException("Group committer has been shut down.");
+            }
+            queue.add(ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Commit all pending writes and stop the committer thread. The committer stops when it takes the
+     * shutdown ticket, which is enqueued behind all other tickets.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            queue.add(SHUTDOWN);
+        }
+        boolean interrupted = false;
+        while (committer.isAlive()) {
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    private void runCommitter() {
+        boolean shutdown = false;
+        while (!shutdown) {
+            final List<Ticket> group = new ArrayList<Ticket>();
+            try {
+                final Ticket first = queue.take();
+                if (first == SHUTDOWN) {
+                    break;
+                }
+                group.add(first);
+                final long deadline = System.currentTimeMillis() + windowMillis;
+                long remaining = windowMillis;
+                while (remaining > 0 && group.size() < MAX_GROUP_SIZE) {
+                    final Ticket next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    } else if (next == SHUTDOWN) {
+                        shutdown = true;
+                        break;
+                    }
+                    group.add(next);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                // Only the shutdown ticket stops the committer, so that no submitted ticket is left behind.
+                LOGGER.debug("Group committer interrupted.");
+            }
+            if (!group.isEmpty()) {
+                commit(group);
+            }
+        }
+        LOGGER.debug("Group committer stopped.");
+    }
+
+    private void commit(List<Ticket> group) {
+        try {
+            apply(group);
+            for (Ticket ticket : group) {
+                ticket.complete(null);
+            }
+            LOGGER.debug("Committed group of {} transactions.", group.size());
+        } catch (Throwable e) {
+            if (group.size() == 1) {
+                LOGGER.error("Group commit of buffered writes failed.", e);
+                group.get(0).complete(e);
+                return;
+            }
+            LOGGER.warn("Group commit of {} transactions failed, committing one by one.", group.size());
+            for (Ticket ticket : group) {
+                commit(Collections.singletonList(ticket));
+            }
+        }
+    }
+
+    private void apply(List<Ticket> group) {
+        final Transaction tx = gdbService.beginTx();
+        try {
+            for (Ticket ticket : group) {
+                ticket.writes.apply();
+            }
+            tx.success();
+        } catch (RuntimeException e) {
+            tx.failure();
+            throw e;
+        } finally {
+            tx.finish();
+        }
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Handle of submitted writes, completed when the group containing them has been committed.
+     */
+    public static class Ticket {
+
+        private final PendingWrites writes;
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile Throwable error;
+
+        private Ticket(PendingWrites writes) {
+            this.writes = writes;
+        }
+
+        /**
+         * @return true if the commit has been completed, successfully or not.
+         */
+        public boolean isDone() {
+            return latch.getCount() == 0;
+        }
+
+        /**
+         * Wait until the writes have been committed, at most {@link #DEFAULT_AWAIT_SECONDS}.
+         * @throws RuntimeException if the commit failed or didn't complete in time.
+         */
+        public void await() {
+            await(DEFAULT_AWAIT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Wait until the writes have been committed.
+         * @param timeout The maximum time to wait.
+         * @param unit The unit of the timeout.
+         * @throws RuntimeException if the commit failed or didn't complete in time.
+         */
+        public void await(long timeout, TimeUnit unit) {
+            try {
+                if (!latch.await(timeout, unit)) {
+                    throw new IllegalStateException("Group commit did not complete within " + timeout + " " + unit + ".");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for group commit.", e);
+            }
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                throw new IllegalStateException("Group commit failed.", error);
+            }
+        }
+
+        private void complete(Throwable error) {
+            this.error = error;
+            latch.countDown();
+        }
+    }
+
+}
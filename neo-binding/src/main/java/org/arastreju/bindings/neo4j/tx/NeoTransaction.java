@@ -16,12 +16,29 @@
  */
 package org.arastreju.bindings.neo4j.tx;
 
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
+import org.arastreju.bindings.neo4j.storage.MappedNodeKeyTable;
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer;
 import org.arastreju.sge.spi.tx.AbstractTransactionControl;
+import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Transaction;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
 /**
  * <p>
- *  Direct wrapper of a Neo4j Transaction.
+ *  Direct wrapper of a Neo4j Transaction. A lazy transaction begins the Neo4j transaction
+ *  not before the first write, see {@link TxBinding}. With write behind, the transaction owns
+ *  the buffer of its write operations, which is discarded when the transaction finishes.
+ * </p>
+ *
+ * <p>
+ *  With group commit, a unit of work is committed either completely by the group committer or completely
+ *  in its own Neo4j transaction: if the transaction had to write directly, e.g. to create nodes, the buffered
+ *  writes are applied in that transaction, too. Only transactions whose writes are all buffered are handed
+ *  over to the group committer, so they don't need a physical transaction of their own.
  * </p>
  *
  * <p>
@@ -34,6 +51,28 @@ class NeoTransaction extends AbstractTransactionControl {
 
 	private Transaction tx;
 
+	private final GraphDatabaseService gdbService;
+
+	private final TxBinding binding;
+
+	private final NeoTransaction previouslyBound;
+
+	private final NeoWriteBuffer writeBuffer;
+
+	private final GroupCommitter groupCommitter;
+
+	private final boolean durable;
+
+	private NeoMetrics metrics = NeoMetrics.NOOP;
+
+	private boolean active = true;
+
+	private boolean successful;
+
+	private List<Lock> heldLocks;
+
+	private MappedNodeKeyTable keyTableToForce;
+
 	// -----------------------------------------------------
 
 	/**
@@ -42,6 +81,33 @@ class NeoTransaction extends AbstractTransactionControl {
 	 */
 	public NeoTransaction(final Transaction tx) {
 		this.tx = tx;
+		this.gdbService = null;
+		this.binding = null;
+		this.previouslyBound = null;
+		this.writeBuffer = null;
+		this.groupCommitter = null;
+		this.durable = true;
+	}
+
+	/**
+	 * Constructor for a transaction bound to the current thread.
+	 * @param tx The Neo4j transaction or null to begin it lazily on the first write.
+	 * @param gdbService The graph database service, to begin a lazy transaction.
+	 * @param binding The binding to the current thread.
+	 * @param writeBuffer The buffer of write operations, owned by this transaction. May be null.
+	 * @param groupCommitter The committer for the buffered writes. If null, or if this transaction has begun
+	 *                       a Neo4j transaction, they are applied in this transaction.
+	 * @param durable If true, finishing waits until the buffered writes have been committed.
+	 */
+	public NeoTransaction(final Transaction tx, final GraphDatabaseService gdbService, final TxBinding binding,
+						  final NeoWriteBuffer writeBuffer, final GroupCommitter groupCommitter, final boolean durable) {
+		this.tx = tx;
+		this.gdbService = gdbService;
+		this.binding = binding;
+		this.writeBuffer = writeBuffer;
+		this.groupCommitter = groupCommitter;
+		this.durable = durable;
+		this.previouslyBound = binding.bind(this);
 	}
 	
 	// -----------------------------------------------------
@@ -51,31 +117,142 @@ class NeoTransaction extends AbstractTransactionControl {
 	 */
     @Override
 	public boolean isActive() {
-		return tx != null;
+		return active;
 	}
 	
 	// -----------------------------------------------------
 	
 	@Override
 	public void onSuccess() {
-		tx.success();
+		if (groupCommitter == null || tx != null) {
+			flush();
+		}
+		successful = true;
+		if (tx != null) {
+			tx.success();
+		}
 	}
 
     @Override
 	public void onFail() {
-		tx.failure();
+		if (writeBuffer != null) {
+			writeBuffer.clear();
+		}
+		successful = false;
+		if (tx != null) {
+			tx.failure();
+		}
 	}
 
     @Override
 	public void onFinish() {
-		tx.finish();
-		tx = null;
+		final long mark = metrics.start();
+		try {
+			if (tx != null) {
+				if (successful && keyTableToForce != null) {
+					keyTableToForce.force();
+				}
+				tx.finish();
+				tx = null;
+			}
+		} finally {
+			active = false;
+			keyTableToForce = null;
+			releaseLocks();
+			if (binding != null) {
+				binding.unbind(previouslyBound);
+			}
+		}
+		if (successful && groupCommitter != null) {
+			commitBuffered();
+		}
+		if (successful) {
+			metrics.stop(NeoMetrics.Timer.COMMIT, mark);
+		}
 	}
 	
 	// ----------------------------------------------------
 
     @Override
 	public void flush() {
+		if (writeBuffer != null) {
+			writeBuffer.flush();
+		}
+	}
+
+	// ----------------------------------------------------
+
+	/**
+	 * @param metrics The metrics recording the commit latency.
+	 */
+	void setMetrics(NeoMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @return The buffer of this transaction's write operations or null.
+	 */
+	NeoWriteBuffer getWriteBuffer() {
+		return active ? writeBuffer : null;
+	}
+
+	/**
+	 * Hold a lock of the current thread until this transaction has finished.
+	 * @param lock The lock.
+	 */
+	void hold(Lock lock) {
+		if (heldLocks == null) {
+			heldLocks = new ArrayList<Lock>();
+		}
+		heldLocks.add(lock);
+	}
+
+	/**
+	 * Force a key table to disk before this transaction commits.
+	 * @param keyTable The key table.
+	 */
+	void forceBeforeCommit(MappedNodeKeyTable keyTable) {
+		this.keyTableToForce = keyTable;
+	}
+
+	/**
+	 * Begin the physical transaction of a lazy transaction, if not yet done.
+	 */
+	void begin() {
+		if (tx == null && active && gdbService != null) {
+			tx = gdbService.beginTx();
+			if (successful) {
+				tx.success();
+			}
+		}
+	}
+
+	// ----------------------------------------------------
+
+	private void releaseLocks() {
+		if (heldLocks != null) {
+			for (Lock lock : heldLocks) {
+				lock.unlock();
+			}
+			heldLocks = null;
+		}
+	}
+
+	/**
+	 * Hand the buffered writes over to the group committer. Not durable commits don't wait,
+	 * their failures are logged by the group committer. Releasing the locks before is safe, as only
+	 * transactions without any direct write are group committed, and node locks are only taken by
+	 * direct writes.
+	 */
+	private void commitBuffered() {
+		final NeoWriteBuffer.PendingWrites pending = writeBuffer.drain();
+		if (pending.isEmpty()) {
+			return;
+		}
+		final GroupCommitter.Ticket ticket = groupCommitter.submit(pending);
+		if (durable) {
+			ticket.await();
+		}
 	}
 
 }
@@ -16,6 +16,9 @@
  */
 package org.arastreju.bindings.neo4j.tx;
 
+import org.arastreju.bindings.neo4j.metrics.NeoMetrics;
+import org.arastreju.bindings.neo4j.storage.NeoGraphDataStore;
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer;
 import org.arastreju.sge.spi.tx.AbstractTxProvider;
 import org.arastreju.sge.spi.tx.BoundTransactionControl;
 import org.neo4j.graphdb.GraphDatabaseService;
@@ -34,6 +37,18 @@ import org.neo4j.graphdb.GraphDatabaseService;
 public class NeoTxProvider extends AbstractTxProvider {
 	
 	private final GraphDatabaseService gdbService;
+
+	private final TxBinding binding;
+
+	private final NeoGraphDataStore bufferingStore;
+
+	private final GroupCommitter groupCommitter;
+
+	private final boolean durable;
+
+	private final boolean lazy;
+
+	private final NeoMetrics metrics;
 	
 	// -----------------------------------------------------
 	
@@ -42,14 +57,45 @@ public class NeoTxProvider extends AbstractTxProvider {
 	 * @param gdbService The service for this TX Control.
 	 */
 	public NeoTxProvider(final GraphDatabaseService gdbService) {
+		this(gdbService, null, null, null, true, false, NeoMetrics.NOOP);
+	}
+
+	/**
+	 * Constructor.
+	 * @param gdbService The service for this TX Control.
+	 * @param binding The binding of transactions to the current thread. If null, transactions are not bound,
+	 *                neither lazy nor buffering.
+	 * @param bufferingStore If not null, each transaction buffers its writes in a new {@link NeoWriteBuffer} of this store.
+	 * @param groupCommitter The committer for the buffered writes. If null, they are applied on commit.
+	 * @param durable If true, a commit waits for the group commit of its buffered writes.
+	 * @param lazy If true, Neo4j transactions are begun on the first write only.
+	 * @param metrics The metrics recording the commit latency.
+	 */
+	public NeoTxProvider(final GraphDatabaseService gdbService, final TxBinding binding, final NeoGraphDataStore bufferingStore,
+						 final GroupCommitter groupCommitter, final boolean durable, final boolean lazy,
+						 final NeoMetrics metrics) {
 		this.gdbService = gdbService;
+		this.binding = binding;
+		this.bufferingStore = bufferingStore;
+		this.groupCommitter = groupCommitter;
+		this.durable = durable;
+		this.lazy = lazy;
+		this.metrics = metrics;
 	}
 	
 	// -----------------------------------------------------
 
     @Override
     protected BoundTransactionControl newTx() {
-        return new NeoTransaction(gdbService.beginTx());
+        final NeoTransaction tx;
+        if (binding == null) {
+            tx = new NeoTransaction(gdbService.beginTx());
+        } else {
+            final NeoWriteBuffer buffer = bufferingStore != null ? new NeoWriteBuffer(bufferingStore) : null;
+            tx = new NeoTransaction(lazy ? null : gdbService.beginTx(), gdbService, binding, buffer, groupCommitter, durable);
+        }
+        tx.setMetrics(metrics);
+        return tx;
     }
 
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2013 lichtflut Forschungs- und Entwicklungsgesellschaft mbH
+ *
+ * The Arastreju-Neo4j binding is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.arastreju.bindings.neo4j.tx;
+
+import org.arastreju.bindings.neo4j.storage.MappedNodeKeyTable;
+import org.arastreju.bindings.neo4j.storage.NeoWriteBuffer;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>
+ *  Binds the store's transactions to the current thread, like Neo4j does with its own transactions.
+ *  The write buffer of a transaction is reached through this binding, so that it lives exactly as long as
+ *  the transaction. The physical Neo4j transaction of a lazy transaction is not begun before the first write
+ *  operation calls {@link #beginWrite()}, so that read only conversations don't cause any transaction bookkeeping.
+ * </p>
+ *
+ * <p>
+ *  Created Oct 18, 2026
+ * </p>
+ *
+ * @author agent
+ */
+public class TxBinding {
+
+    private final ThreadLocal<NeoTransaction> current = new ThreadLocal<NeoTransaction>();
+
+    // ----------------------------------------------------
+
+    /**
+     * To be called before any write to the graph. Begins the physical transaction of the
+     * lazy transaction bound to the current thread, if there is one.
+     */
+    public void beginWrite() {
+        final NeoTransaction tx = current.get();
+        if (tx != null) {
+            tx.begin();
+        }
+    }
+
+    /**
+     * @return The write buffer of the transaction bound to the current thread, null if there is
+     *      no transaction or it doesn't buffer its writes.
+     */
+    public NeoWriteBuffer getWriteBuffer() {
+        final NeoTransaction tx = current.get();
+        return tx != null ? tx.getWriteBuffer() : null;
+    }
+
+    /**
+     * Hand a lock held by the current thread over to the transaction bound to it. The lock is released
+     * when the transaction has finished, i.e. when its changes are visible to other transactions.
+     * @param lock The lock.
+     * @return false if there is no transaction, the caller has to release the lock itself.
+     */
+    public boolean holdUntilFinish(Lock lock) {
+        final NeoTransaction tx = current.get();
+        if (tx == null || !tx.isActive()) {
+            return false;
+        }
+        tx.hold(lock);
+        return true;
+    }
+
+    /**
+     * Have a key table forced to disk by the transaction bound to the current thread, before it commits.
+     * Forcing it before the commit may leave entries of nodes rolled back, which are detected as stale,
+     * but never loses the entry of a committed node.
+     * @param keyTable The key table.
+     * @return false if there is no transaction, the caller has to force the key table itself.
+     */
+    public boolean forceBeforeCommit(MappedNodeKeyTable keyTable) {
+        final NeoTransaction tx = current.get();
+        if (tx == null || !tx.isActive()) {
+            return false;
+        }
+        tx.forceBeforeCommit(keyTable);
+        return true;
+    }
+
+    // ----------------------------------------------------
+
+    /**
+     * Bind a transaction to the current thread.
+     * @param tx The transaction.
+     * @return The previously bound transaction or null.
+     */
+    NeoTransaction bind(NeoTransaction tx) {
+        final NeoTransaction previous = current.get();
+        current.set(tx);
+        return previous;
+    }
+
+    /**
+     * Unbind a transaction from the current thread, restoring the previously bound one.
+     * @param previous The previously bound transaction or null.
+     */
+    void unbind(NeoTransaction previous) {
+        if (previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+    }
+
+}